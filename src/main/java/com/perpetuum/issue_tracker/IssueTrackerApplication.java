@@ -2,10 +2,22 @@ package com.perpetuum.issue_tracker;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
@@ -20,9 +32,23 @@ import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.SheetsScopes;
 import com.google.auth.http.HttpCredentialsAdapter;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.perpetuum.issue_tracker.api.IssueHttpServer;
+import com.perpetuum.issue_tracker.index.IssueIdIndex;
 import com.perpetuum.issue_tracker.infrastructure.GoogleSheetsFacade;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.CoalescingIssueRepository;
 import com.perpetuum.issue_tracker.repository.GoogleSheetsIssueRepository;
+import com.perpetuum.issue_tracker.repository.InMemoryIssueRepository;
+import com.perpetuum.issue_tracker.repository.IssueRepository;
 import com.perpetuum.issue_tracker.service.IssueService;
+import com.perpetuum.issue_tracker.service.IssueWatcher;
+import com.perpetuum.issue_tracker.snapshot.SnapshotService;
+import com.perpetuum.issue_tracker.workload.RecordingIssueService;
+import com.perpetuum.issue_tracker.workload.TraceEvent;
+import com.perpetuum.issue_tracker.workload.TraceReader;
+import com.perpetuum.issue_tracker.workload.TraceWriter;
+import com.perpetuum.issue_tracker.workload.WorkloadReplayer;
 
 /**
  * Entry point for the Issue Tracker CLI application.
@@ -38,6 +64,38 @@ public class IssueTrackerApplication {
     @Value("${google.sheets.spreadsheet-id}")
     private String spreadsheetId;
 
+    @Value("${google.sheets.read-freshness-ms:500}")
+    private long readFreshnessMs;
+
+    @Value("${google.sheets.status-views.enabled:false}")
+    private boolean statusViewsEnabled;
+
+    @Value("${issue-tracker.archive.sheet-name:Archive}")
+    private String archiveSheetName;
+
+    @Value("${issue-tracker.archive.auto-closed-older-than-days:0}")
+    private int autoArchiveDays;
+
+    @Value("${issue-tracker.id-index.file:.issue-tracker/issue-ids-${google.sheets.spreadsheet-id}.bloom}")
+    private String idIndexFile;
+
+    @Value("${issue-tracker.id-index.false-positive-rate:0.01}")
+    private double idIndexFalsePositiveRate;
+
+    @Value("${issue-tracker.trace.file:}")
+    private String traceFile;
+
+    @Value("${issue-tracker.serve.max-batch-size:100}")
+    private int serveMaxBatchSize;
+
+    @Value("${issue-tracker.serve.max-batch-delay-ms:20}")
+    private long serveMaxBatchDelayMs;
+
+    /** How often {@code serve} applies the automatic archival policy. */
+    private static final Duration AUTO_ARCHIVE_INTERVAL = Duration.ofHours(1);
+
+    private TraceWriter traceWriter;
+
     public static void main(String[] args) {
         SpringApplication.run(IssueTrackerApplication.class, args);
     }
@@ -72,25 +130,48 @@ public class IssueTrackerApplication {
     @Bean
     public GoogleSheetsFacade googleSheetsFacade(Sheets sheetsClient) throws Exception {
         GoogleSheetsFacade facade = new GoogleSheetsFacade(sheetsClient, spreadsheetId);
+        facade.setReadFreshness(Duration.ofMillis(readFreshnessMs));
         facade.initializeHeaderIfEmpty();
         return facade;
     }
 
-    /** Repository bean. */
+    /** Repository bean (sets up the optional status views next to the header). */
     @Bean
     public GoogleSheetsIssueRepository issueRepository(GoogleSheetsFacade facade) {
-        return new GoogleSheetsIssueRepository(facade);
+        GoogleSheetsIssueRepository repository = new GoogleSheetsIssueRepository(facade, archiveSheetName);
+        if (statusViewsEnabled) {
+            repository.enableStatusViews();
+        }
+        return repository;
+    }
+
+    /**
+     * Local index of known issue IDs of the configured spreadsheet (loaded lazily; a blank
+     * file keeps it in memory only, so every process rebuilds it with one ID-column read).
+     */
+    @Bean
+    public IssueIdIndex issueIdIndex(GoogleSheetsIssueRepository repository) {
+        Path file = idIndexFile == null || idIndexFile.isBlank() ? null : Path.of(idIndexFile);
+        return new IssueIdIndex(repository, file, spreadsheetId, idIndexFalsePositiveRate);
+    }
+
+    /** Service bean (records a workload trace when a trace file is configured). */
+    @Bean
+    public IssueService issueService(GoogleSheetsIssueRepository repository, IssueIdIndex idIndex) throws IOException {
+        return newIssueService(repository, idIndex);
     }
 
-    /** Service bean. */
+    /** Snapshot export/restore bean. */
     @Bean
-    public IssueService issueService(GoogleSheetsIssueRepository repository) {
-        return new IssueService(repository);
+    public SnapshotService snapshotService(GoogleSheetsIssueRepository repository) {
+        return new SnapshotService(repository);
     }
 
     /** CLI runner: handles input and delegates to service. */
     @Bean
-    public CommandLineRunner commandLineRunner(IssueService issueService) {
+    public CommandLineRunner commandLineRunner(IssueService issueService, SnapshotService snapshotService,
+                                               GoogleSheetsIssueRepository repository, IssueIdIndex idIndex,
+                                               Sheets sheetsClient) {
         return args -> {
             System.out.println("Issue Tracker CLI running...");
 
@@ -98,7 +179,17 @@ public class IssueTrackerApplication {
                 System.out.println("Usage:");
                 System.out.println("  create --description <text> [--parentId <id>]");
                 System.out.println("  update --id <issueId> --status <OPEN|IN_PROGRESS|CLOSED>");
-                System.out.println("  list --status <OPEN|IN_PROGRESS|CLOSED>");
+                System.out.println("  list [--status <STATUS,...>] [--parent <id>] [--prefix <text>]");
+                System.out.println("       [--created-after <date>] [--created-before <date>]");
+                System.out.println("       [--updated-after <date>] [--updated-before <date>] [--explain]");
+                System.out.println("  archive --closed-before <yyyy-MM-dd[THH:mm]>");
+                System.out.println("  export --out <file>");
+                System.out.println("  restore --in <file>");
+                System.out.println("  serve [--port <port>] [--threads <count>]");
+                System.out.println("  watch [--status <STATUS,...>] [--min-interval <seconds>] [--max-interval <seconds>]");
+                System.out.println("  replay --in <trace> [--speed <1|10|max>] [--concurrency <count>]");
+                System.out.println("         [--backend memory [--seed <snapshot>] [--latency-ms <ms>]]");
+                System.out.println("         [--backend sheets --spreadsheet-id <scratch id> --confirm-writes]");
                 return;
             }
 
@@ -115,7 +206,12 @@ public class IssueTrackerApplication {
                         return;
                     }
 
-                    issueService.createIssue(description, parentId);
+                    try {
+                        issueService.createIssue(description, parentId);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println(e.getMessage());
+                        return;
+                    }
                     System.out.println("Issue created in Google Sheets!");
                 }
                 case "update" -> {
@@ -136,15 +232,20 @@ public class IssueTrackerApplication {
                     }
                 }
                 case "list" -> {
-                    String status = params.get("status");
-                    if (status == null || status.isBlank()) {
-                        System.out.println("Missing required --status parameter");
+                    IssueQuery query = parseQuery(params);
+                    if (query.isUnfiltered()) {
+                        System.out.println("Missing filter: use --status, --parent, --prefix, "
+                                + "--created-after/--created-before or --updated-after/--updated-before");
                         return;
                     }
 
-                    var issues = issueService.listByStatus(status);
+                    if (params.containsKey("explain")) {
+                        System.out.print(issueService.explainQuery(query).explain());
+                    }
+
+                    var issues = issueService.listByQuery(query);
                     if (issues.isEmpty()) {
-                        System.out.println("No issues found with status: " + status);
+                        System.out.println("No issues found matching: " + query);
                     } else {
                         issues.forEach(issue -> System.out.printf(
                                 "ID=%s | Description=%s | ParentID=%s | Status=%s | CreatedAt=%s | UpdatedAt=%s%n",
@@ -157,11 +258,226 @@ public class IssueTrackerApplication {
                         ));
                     }
                 }
+                case "archive" -> {
+                    // Without a date, apply the automatic policy (e.g. from a scheduled job)
+                    String closedBefore = params.get("closed-before");
+                    LocalDateTime cutoff;
+                    if (closedBefore != null && !closedBefore.isBlank()) {
+                        cutoff = parseDateTime(closedBefore);
+                    } else if (autoArchiveDays > 0) {
+                        cutoff = LocalDateTime.now().minusDays(autoArchiveDays);
+                    } else {
+                        System.out.println("Missing required --closed-before parameter");
+                        return;
+                    }
+
+                    try {
+                        int archived = repository.archiveClosedBefore(cutoff);
+                        System.out.println("Archived " + archived + " issues closed before " + cutoff
+                                + " into sheet '" + archiveSheetName + "'");
+                    } catch (GoogleSheetsIssueRepository.ArchiveInProgressException e) {
+                        System.out.println(e.getMessage() + "; try again later");
+                    }
+                }
+                case "export" -> {
+                    String file = params.get("out");
+                    if (file == null || file.isBlank()) {
+                        System.out.println("Missing required --out parameter");
+                        return;
+                    }
+
+                    long exported = snapshotService.export(Path.of(file));
+                    System.out.println("Exported " + exported + " issues to " + file);
+                }
+                case "restore" -> {
+                    String file = params.get("in");
+                    if (file == null || file.isBlank()) {
+                        System.out.println("Missing required --in parameter");
+                        return;
+                    }
+
+                    long restored = snapshotService.restore(Path.of(file));
+                    idIndex.rebuild(); // restored IDs bypassed the index
+                    System.out.println("Restored " + restored + " issues from " + file);
+                }
+                case "watch" -> {
+                    String statuses = params.get("status");
+                    Set<Status> filter = statuses == null || statuses.isBlank()
+                            ? Set.of()
+                            : Arrays.stream(statuses.split(","))
+                                    .map(String::trim)
+                                    .map(Status::fromString)
+                                    .collect(Collectors.toSet());
+                    Duration minInterval = Duration.ofSeconds(Long.parseLong(params.getOrDefault("min-interval", "5")));
+                    Duration maxInterval = Duration.ofSeconds(Long.parseLong(params.getOrDefault("max-interval", "300")));
+
+                    // One JSON object per line (JSON Lines), until the process is stopped
+                    JsonFactory json = JacksonFactory.getDefaultInstance();
+                    new IssueWatcher(repository, filter, minInterval, maxInterval).run(change -> {
+                        try {
+                            System.out.println(json.toString(change.toMap()));
+                        } catch (IOException e) {
+                            throw new IllegalStateException("Failed to serialize change " + change, e);
+                        }
+                    });
+                }
+                case "serve" -> {
+                    int port = Integer.parseInt(params.getOrDefault("port", "8080"));
+                    int threads = Integer.parseInt(params.getOrDefault("threads", "32"));
+
+                    CoalescingIssueRepository shared = new CoalescingIssueRepository(
+                            repository, serveMaxBatchSize, Duration.ofMillis(serveMaxBatchDelayMs));
+                    IssueHttpServer server = new IssueHttpServer(newIssueService(shared, idIndex), port, threads);
+                    CountDownLatch stopped = new CountDownLatch(1);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        server.stop();
+                        shared.close();
+                        stopped.countDown();
+                    }));
+
+                    server.start();
+                    if (autoArchiveDays > 0) {
+                        startAutoArchive(repository);
+                    }
+                    System.out.println("Serving issue API on http://localhost:" + server.getPort() + "/issues");
+                    stopped.await();
+                }
+                case "replay" -> {
+                    String file = params.get("in");
+                    if (file == null || file.isBlank()) {
+                        System.out.println("Missing required --in parameter");
+                        return;
+                    }
+                    String speedParam = params.getOrDefault("speed", "1");
+                    double speed = speedParam.equalsIgnoreCase("max")
+                            ? WorkloadReplayer.MAX_SPEED
+                            : Double.parseDouble(speedParam);
+                    int concurrency = Integer.parseInt(params.getOrDefault("concurrency", "8"));
+                    String backend = params.getOrDefault("backend", "memory");
+
+                    // Replays write, and unmapped IDs are used as recorded: never replay into
+                    // the configured sheet, only into an explicitly confirmed scratch spreadsheet
+                    IssueRepository target;
+                    if (backend.equalsIgnoreCase("sheets")) {
+                        String replaySpreadsheetId = blankToNull(params.get("spreadsheet-id"));
+                        if (replaySpreadsheetId == null || replaySpreadsheetId.equals(spreadsheetId)) {
+                            System.out.println("Replaying into sheets needs --spreadsheet-id of a scratch spreadsheet"
+                                    + " other than the configured one");
+                            return;
+                        }
+                        if (!params.containsKey("confirm-writes")) {
+                            System.out.println("Replaying creates and updates issues in spreadsheet "
+                                    + replaySpreadsheetId + "; add --confirm-writes to proceed");
+                            return;
+                        }
+                        GoogleSheetsFacade replayFacade = new GoogleSheetsFacade(sheetsClient, replaySpreadsheetId);
+                        replayFacade.setReadFreshness(Duration.ofMillis(readFreshnessMs));
+                        replayFacade.initializeHeaderIfEmpty();
+                        target = new GoogleSheetsIssueRepository(replayFacade);
+                    } else if (backend.equalsIgnoreCase("memory")) {
+                        Duration latency = Duration.ofMillis(Long.parseLong(params.getOrDefault("latency-ms", "0")));
+                        target = new InMemoryIssueRepository(latency);
+                        String seed = params.get("seed");
+                        if (seed != null && !seed.isBlank()) {
+                            long seeded = new SnapshotService(target).restore(Path.of(seed));
+                            System.out.println("Seeded in-memory backend with " + seeded + " issues from " + seed);
+                        }
+                    } else {
+                        System.out.println("Unknown --backend " + backend + " (use memory or sheets)");
+                        return;
+                    }
+
+                    // Parent validation stays on the measured path, against an in-memory index of
+                    // the target (built here, so the first create does not pay for it)
+                    IssueIdIndex replayIndex = new IssueIdIndex(target, null, idIndexFalsePositiveRate);
+                    replayIndex.rebuild();
+
+                    List<TraceEvent> events = TraceReader.readAll(Path.of(file));
+                    System.out.println("Replaying " + events.size() + " operations from " + file
+                            + " against the " + backend.toLowerCase() + " backend");
+                    WorkloadReplayer.ReplayReport report = new WorkloadReplayer(
+                            new IssueService(target, replayIndex), speed, concurrency).replay(events);
+                    System.out.print(report.format());
+                }
                 default -> System.out.println("Unknown command: " + command);
             }
         };
     }
 
+    /**
+     * Helper method to apply the automatic archival policy in the background of a long-running
+     * process, off the request path. Runs that find another archiver at work are skipped.
+     */
+    private void startAutoArchive(GoogleSheetsIssueRepository repository) {
+        ScheduledExecutorService archiver = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "auto-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        archiver.scheduleWithFixedDelay(() -> {
+            try {
+                int archived = repository.archiveClosedBefore(LocalDateTime.now().minusDays(autoArchiveDays));
+                if (archived > 0) {
+                    System.out.println("Archived " + archived + " issues closed more than "
+                            + autoArchiveDays + " days ago");
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Automatic archival skipped: " + e.getMessage());
+            }
+        }, 0, AUTO_ARCHIVE_INTERVAL.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Helper method to create a service, recording into the configured trace file if any.
+     * All recording services of this process share one trace writer.
+     */
+    private synchronized IssueService newIssueService(IssueRepository repository, IssueIdIndex idIndex)
+            throws IOException {
+        if (traceFile == null || traceFile.isBlank()) {
+            return new IssueService(repository, idIndex);
+        }
+        if (traceWriter == null) {
+            traceWriter = new TraceWriter(Path.of(traceFile));
+        }
+        return new RecordingIssueService(repository, idIndex, traceWriter);
+    }
+
+    /** Helper method to build a compound query from the list filters. */
+    private static IssueQuery parseQuery(Map<String, String> params) {
+        IssueQuery.IssueQueryBuilder query = IssueQuery.builder()
+                .parentId(blankToNull(params.get("parent")))
+                .descriptionPrefix(blankToNull(params.get("prefix")));
+        String statuses = params.get("status");
+        if (statuses != null && !statuses.isBlank()) {
+            Arrays.stream(statuses.split(","))
+                    .map(String::trim)
+                    .map(Status::fromString)
+                    .forEach(query::status);
+        }
+        if (blankToNull(params.get("created-after")) != null) {
+            query.createdAfter(parseDateTime(params.get("created-after")));
+        }
+        if (blankToNull(params.get("created-before")) != null) {
+            query.createdBefore(parseDateTime(params.get("created-before")));
+        }
+        if (blankToNull(params.get("updated-after")) != null) {
+            query.updatedAfter(parseDateTime(params.get("updated-after")));
+        }
+        if (blankToNull(params.get("updated-before")) != null) {
+            query.updatedBefore(parseDateTime(params.get("updated-before")));
+        }
+        return query.build();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /** Helper method to parse a date (start of day) or a date-time CLI argument. */
+    private static LocalDateTime parseDateTime(String value) {
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
+
     /** Helper method to parse CLI arguments (--key value). */
     private Map<String, String> parseArgs(String[] args) {
         Map<String, String> params = new HashMap<>();
@@ -0,0 +1,192 @@
+package com.perpetuum.issue_tracker.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.service.IssueService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * IssueHttpServer
+ * ---------------
+ * A small JSON-over-HTTP API on top of {@link IssueService}, built on the JDK HTTP server.
+ *
+ * Endpoints:
+ * - POST /issues                 {"description": "...", "parentId": "..."}  → 201 + issue
+ * - GET  /issues?status=OPEN     → 200 + list of issues
+ * - GET  /issues/{id}            → 200 + issue, or 404
+ * - PUT  /issues/{id}/status     {"status": "CLOSED"}  → 200 + {"id", "status"}, or 404
+ *
+ * Validation errors map to 400, anything else to 500.
+ * Intended to run over a {@code CoalescingIssueRepository} so concurrent requests
+ * share backend calls.
+ */
+public class IssueHttpServer {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueHttpServer.class);
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+    private final IssueService issueService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param issueService service handling the requests
+     * @param port port to listen on (0 picks a free port)
+     * @param threads number of request handling threads
+     */
+    public IssueHttpServer(IssueService issueService, int port, int threads) throws IOException {
+        this.issueService = issueService;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server.setExecutor(executor);
+        this.server.createContext("/issues", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Issue HTTP API listening on port {}", getPort());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * @return the port actually bound (useful when started with port 0)
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Request {} {} failed", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            send(exchange, 500, Map.of("error", "Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getRawPath().replaceAll("/+$", "").split("/");
+        // path[0] is empty, path[1] is "issues"
+        if (path.length < 2 || !path[1].equals("issues")) {
+            send(exchange, 404, Map.of("error", "No route for " + method + " " + exchange.getRequestURI().getPath()));
+            return;
+        }
+
+        if (path.length == 2 && method.equals("GET")) {
+            String status = query(exchange).get("status");
+            if (status == null || status.isBlank()) {
+                throw new IllegalArgumentException("Missing required status query parameter");
+            }
+            List<Map<String, Object>> issues = issueService.listByStatus(status).stream()
+                    .map(IssueHttpServer::toJson)
+                    .collect(Collectors.toList());
+            send(exchange, 200, issues);
+        } else if (path.length == 2 && method.equals("POST")) {
+            GenericJson body = readBody(exchange);
+            Issue created = issueService.createIssue(string(body, "description"), string(body, "parentId"));
+            send(exchange, 201, toJson(created));
+        } else if (path.length == 3 && method.equals("GET")) {
+            String id = decode(path[2]);
+            var issue = issueService.getIssue(id);
+            if (issue.isPresent()) {
+                send(exchange, 200, toJson(issue.get()));
+            } else {
+                send(exchange, 404, Map.of("error", "Issue " + id + " not found"));
+            }
+        } else if (path.length == 4 && path[3].equals("status") && (method.equals("PUT") || method.equals("POST"))) {
+            String id = decode(path[2]);
+            String status = string(readBody(exchange), "status");
+            if (status == null || status.isBlank()) {
+                throw new IllegalArgumentException("Missing required status field");
+            }
+            if (issueService.updateStatus(id, status)) {
+                send(exchange, 200, Map.of("id", id, "status", status.toUpperCase()));
+            } else {
+                send(exchange, 404, Map.of("error", "Issue " + id + " not found"));
+            }
+        } else {
+            send(exchange, 404, Map.of("error", "No route for " + method + " " + exchange.getRequestURI().getPath()));
+        }
+    }
+
+    private static Map<String, Object> toJson(Issue issue) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", issue.getId());
+        json.put("description", issue.getDescription());
+        json.put("parentId", issue.getParentId());
+        json.put("status", issue.getStatus() != null ? issue.getStatus().name() : null);
+        json.put("createdAt", issue.getCreatedAt() != null ? issue.getCreatedAt().toString() : null);
+        json.put("updatedAt", issue.getUpdatedAt() != null ? issue.getUpdatedAt().toString() : null);
+        return json;
+    }
+
+    private static GenericJson readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return JSON_FACTORY.createJsonParser(in, StandardCharsets.UTF_8).parseAndClose(GenericJson.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Request body must be a JSON object");
+        }
+    }
+
+    private static String string(GenericJson body, String field) {
+        Object value = body != null ? body.get(field) : null;
+        return value != null ? value.toString() : null;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = JSON_FACTORY.toByteArray(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.perpetuum.issue_tracker.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BloomFilter
+ *
+ * A fixed-size Bloom filter over strings: {@link #mightContain(String)} never answers
+ * false for an added value, and answers true for other values with roughly the
+ * configured false-positive probability while at most {@code capacity} values are added.
+ *
+ * Bit positions use double hashing (h1 + i * h2) over a 64-bit FNV-1a hash of the
+ * UTF-8 bytes, split into two halves by a finalizer mix. Not thread-safe.
+ *
+ * Serialized layout: int capacity | int hashCount | long insertions | int wordCount | long[] words.
+ */
+public final class BloomFilter {
+
+    private final int capacity;
+    private final int hashCount;
+    private final long[] words;
+    private final long bitCount;
+    private long insertions;
+
+    private BloomFilter(int capacity, int hashCount, long[] words, long insertions) {
+        this.capacity = capacity;
+        this.hashCount = hashCount;
+        this.words = words;
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.insertions = insertions;
+    }
+
+    /**
+     * Size a filter for the expected number of values and false-positive probability.
+     *
+     * @param capacity expected number of values (at least 1)
+     * @param falsePositiveRate target false-positive probability, between 0 and 1 (exclusive)
+     */
+    public static BloomFilter create(int capacity, double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(
+                    "Invalid Bloom filter size: capacity " + capacity + ", false-positive rate " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long bits = Math.max(Long.SIZE, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        return new BloomFilter(capacity, hashCount, new long[(int) ((bits + Long.SIZE - 1) / Long.SIZE)], 0);
+    }
+
+    /**
+     * Add a value.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * @return false if the value was definitely never added, true if it probably was
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of values this filter was sized for
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of {@link #put(String)} calls so far (duplicates included)
+     */
+    public long insertions() {
+        return insertions;
+    }
+
+    /**
+     * @return true once more values were added than the filter was sized for,
+     *         i.e. the false-positive rate is above target
+     */
+    public boolean isSaturated() {
+        return insertions > capacity;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(hashCount);
+        out.writeLong(insertions);
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Read a filter written by {@link #writeTo(DataOutput)}.
+     *
+     * @throws IOException if the data is truncated or its header is implausible
+     */
+    public static BloomFilter readFrom(DataInput in) throws IOException {
+        int capacity = in.readInt();
+        int hashCount = in.readInt();
+        long insertions = in.readLong();
+        int wordCount = in.readInt();
+        if (capacity < 1 || hashCount < 1 || hashCount > 64 || insertions < 0 || wordCount < 1) {
+            throw new IOException("Corrupt Bloom filter header");
+        }
+        long[] words = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = in.readLong();
+        }
+        return new BloomFilter(capacity, hashCount, words, insertions);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a 64-bit
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        // fmix64 from MurmurHash3, so both 32-bit halves depend on every byte
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,288 @@
+package com.perpetuum.issue_tracker.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.perpetuum.issue_tracker.repository.IssueRepository;
+
+/**
+ * IssueIdIndex
+ *
+ * A locally persisted Bloom filter of all known issue IDs, answering "might this ID exist?"
+ * without a round trip to the repository.
+ *
+ * Responsibilities:
+ * - Load the filter from its file on first use, or rebuild it from
+ *   {@link IssueRepository#findAllIds()} (one ID-column read) if the file is missing or corrupt.
+ * - Record every created ID and write the filter back, so the next process starts warm.
+ *   Saves are batched: at most one per {@link #SAVE_INTERVAL}, plus one on {@link #close()}.
+ * - Merge on save: under a lock on a sibling ".lock" file, the IDs recorded since the last save
+ *   are added to the filter currently on disk, so processes sharing the file never drop
+ *   each other's IDs (and each picks up the others' on its next save).
+ * - Re-size itself (rebuild with twice the room) once more IDs were added than it was sized for.
+ *
+ * A negative answer is exact for IDs created through this index; IDs created elsewhere
+ * (other processes, restores) are missing until merged or rebuilt, so callers that
+ * cannot afford a false negative confirm it with a targeted read.
+ *
+ * The file records the scope (the spreadsheet ID) it was built for; a file of another scope
+ * is ignored and replaced by a rebuild, so switching spreadsheets never trusts IDs that only
+ * exist in the previous one.
+ *
+ * File layout: magic "ITID" | version byte | body | int CRC32 of the body,
+ * where body = UTF scope | Bloom filter.
+ * Persistence failures are logged and the in-memory filter keeps working.
+ */
+public class IssueIdIndex implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueIdIndex.class);
+
+    static final byte[] MAGIC = {'I', 'T', 'I', 'D'};
+    static final int VERSION = 2;
+
+    /** Smallest capacity a rebuilt filter is sized for. */
+    static final int MIN_CAPACITY = 1_024;
+
+    /** Minimum time between two saves triggered by {@link #add(String)}. */
+    static final Duration SAVE_INTERVAL = Duration.ofSeconds(1);
+
+    private final IssueRepository repository;
+    private final Path file;
+    private final String scope;
+    private final double falsePositiveRate;
+    private BloomFilter filter; // loaded lazily, guarded by this
+    private final List<String> unsaved = new ArrayList<>(); // added since the last save, guarded by this
+    private long lastSaveNanos;
+    private boolean savedOnce;
+
+    /**
+     * Index over an unnamed scope, e.g. one that is only kept in memory.
+     */
+    public IssueIdIndex(IssueRepository repository, Path file, double falsePositiveRate) {
+        this(repository, file, "", falsePositiveRate);
+    }
+
+    /**
+     * @param repository source of all IDs when the filter has to be (re)built
+     * @param file where the filter is persisted (null keeps it in memory only)
+     * @param scope identifies the ID set (e.g. the spreadsheet ID); a file saved for
+     *              another scope is rebuilt instead of loaded
+     * @param falsePositiveRate target false-positive probability of the filter
+     */
+    public IssueIdIndex(IssueRepository repository, Path file, String scope, double falsePositiveRate) {
+        this.repository = repository;
+        this.file = file;
+        this.scope = scope;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * @return false if the ID is definitely unknown to the index, true if it probably exists
+     */
+    public synchronized boolean mightContain(String issueId) {
+        return filter().mightContain(issueId);
+    }
+
+    /**
+     * Record an existing ID. The filter is persisted right away unless it was saved less
+     * than {@link #SAVE_INTERVAL} ago, in which case the next save or {@link #close()} does it.
+     */
+    public synchronized void add(String issueId) {
+        BloomFilter current = filter();
+        current.put(issueId);
+        if (file != null) {
+            unsaved.add(issueId);
+        }
+        if (current.isSaturated()) {
+            rebuild();
+        } else if (!savedOnce || System.nanoTime() - lastSaveNanos >= SAVE_INTERVAL.toNanos()) {
+            flush();
+        }
+    }
+
+    /**
+     * Merge the IDs recorded since the last save into the file.
+     */
+    public synchronized void flush() {
+        if (file == null || unsaved.isEmpty()) {
+            return;
+        }
+        withFileLock(() -> {
+            BloomFilter merged = load();
+            if (merged == null) {
+                merged = filter; // nothing (readable) on disk: ours already holds every ID
+            } else {
+                unsaved.forEach(merged::put);
+            }
+            if (merged.isSaturated()) {
+                rebuildLocked();
+            } else {
+                filter = merged;
+                save(merged);
+            }
+        });
+    }
+
+    /**
+     * Rebuild the filter from all IDs in the repository and persist it.
+     * Call after bulk loads that bypass the index (e.g. snapshot restores).
+     */
+    public synchronized void rebuild() {
+        if (file == null) {
+            rebuildLocked();
+        } else {
+            withFileLock(this::rebuildLocked);
+        }
+    }
+
+    /**
+     * Save any pending IDs. Called by Spring when the context shuts down.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+    }
+
+    private void rebuildLocked() {
+        List<String> ids = repository.findAllIds();
+        BloomFilter rebuilt = BloomFilter.create(Math.max(MIN_CAPACITY, ids.size() * 2), falsePositiveRate);
+        ids.forEach(rebuilt::put);
+        unsaved.forEach(rebuilt::put); // recorded but possibly not visible to the read yet
+        filter = rebuilt;
+        save(rebuilt);
+        log.info("Issue ID index rebuilt from {} IDs (capacity {})", ids.size(), rebuilt.capacity());
+    }
+
+    /**
+     * Run the action holding an exclusive lock on the index's ".lock" file, so processes
+     * sharing the index read-modify-write it one at a time. Without the lock (it cannot be
+     * taken) the action still runs, since the file is replaced atomically anyway.
+     */
+    private void withFileLock(Runnable action) {
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        FileChannel channel = null;
+        FileLock lock = null;
+        try {
+            Path parent = lockFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = channel.lock();
+        } catch (IOException | OverlappingFileLockException e) {
+            log.warn("Could not lock issue ID index {}: {}", lockFile, e.getMessage());
+        }
+        try {
+            action.run();
+        } finally {
+            try {
+                if (lock != null) {
+                    lock.release();
+                }
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                log.warn("Failed to release issue ID index lock {}: {}", lockFile, e.getMessage());
+            }
+        }
+    }
+
+    private BloomFilter filter() {
+        if (filter == null) {
+            filter = load();
+            if (filter == null) {
+                rebuild();
+            }
+        }
+        return filter;
+    }
+
+    private BloomFilter load() {
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            DataInputStream data = new DataInputStream(in);
+            byte[] magic = new byte[MAGIC.length];
+            data.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC) || data.readUnsignedByte() != VERSION) {
+                throw new IOException("Not an issue ID index (version " + VERSION + ")");
+            }
+            byte[] body = data.readNBytes((int) Math.max(0, Files.size(file) - MAGIC.length - 1 - Integer.BYTES));
+            int checksum = data.readInt();
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Checksum mismatch");
+            }
+            DataInputStream bodyIn = new DataInputStream(new ByteArrayInputStream(body));
+            String saved = bodyIn.readUTF();
+            if (!scope.equals(saved)) {
+                log.info("Issue ID index {} was built for [{}], not [{}]; rebuilding it", file, saved, scope);
+                return null;
+            }
+            return BloomFilter.readFrom(bodyIn);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable issue ID index {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void save(BloomFilter current) {
+        if (file == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream bodyOut = new DataOutputStream(body);
+            bodyOut.writeUTF(scope);
+            current.writeTo(bodyOut);
+            bodyOut.flush();
+            CRC32 crc = new CRC32();
+            crc.update(body.toByteArray());
+
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    DataOutputStream data = new DataOutputStream(out);
+                    data.write(MAGIC);
+                    data.writeByte(VERSION);
+                    body.writeTo(data);
+                    data.writeInt((int) crc.getValue());
+                }
+                // Readers never see a half-written file
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                unsaved.clear();
+                savedOnce = true;
+                lastSaveNanos = System.nanoTime();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to persist issue ID index to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -3,19 +3,38 @@ package com.perpetuum.issue_tracker.infrastructure;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpResponse;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.sheets.v4.Sheets;
 import com.google.api.services.sheets.v4.SheetsScopes;
+import com.google.api.services.sheets.v4.model.AddSheetRequest;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetRequest;
+import com.google.api.services.sheets.v4.model.BatchUpdateSpreadsheetResponse;
+import com.google.api.services.sheets.v4.model.BatchUpdateValuesRequest;
+import com.google.api.services.sheets.v4.model.DeleteDimensionRequest;
+import com.google.api.services.sheets.v4.model.DimensionRange;
+import com.google.api.services.sheets.v4.model.GridProperties;
+import com.google.api.services.sheets.v4.model.Request;
 import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
 import com.google.api.services.sheets.v4.model.Spreadsheet;
 import com.google.api.services.sheets.v4.model.ValueRange;
 import com.google.auth.http.HttpCredentialsAdapter;
@@ -35,6 +54,9 @@ import com.google.auth.oauth2.GoogleCredentials;
  * - Throws custom exceptions instead of generic RuntimeExceptions
  * - Accepts `Sheets` client through constructor (dependency injection),
  *   which improves testability and respects DIP.
+ * - Single-flight reads: concurrent reads of the same range share one request,
+ *   and a read finishing within the freshness window is reused. Any write through
+ *   the facade invalidates both. Read results are shared and must not be modified.
  */
 public class GoogleSheetsFacade {
 
@@ -42,9 +64,35 @@ public class GoogleSheetsFacade {
     private static final String APPLICATION_NAME = "Issue Tracker CLI";
     private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
 
+    /**
+     * Ranges sent per batchGet. Every range is a query parameter of the GET request, so
+     * reads of many scattered ranges are split to keep the URL well below the size limit.
+     */
+    public static final int MAX_RANGES_PER_BATCH_GET = 100;
+
     private final Sheets service;          // Now injected → better for testing
     private final String spreadsheetId;
     private final String defaultSheetName;
+    private final Map<String, Integer> sheetIds = new ConcurrentHashMap<>(); // title → numeric sheetId
+    private final Map<String, Integer> gridRowCounts = new ConcurrentHashMap<>(); // title → grid rows at startup
+
+    // Single-flight read state, keyed by range
+    private final Map<String, CompletableFuture<Object>> inFlightReads = new ConcurrentHashMap<>();
+    private final Map<String, CompletedRead> recentReads = new ConcurrentHashMap<>();
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final AtomicLong executedReads = new AtomicLong();
+    private final AtomicLong dedupedReads = new AtomicLong();
+    private volatile Duration readFreshness = Duration.ZERO;
+
+    /** A finished read, reusable until it gets older than the freshness window or a write happens. */
+    private record CompletedRead(Object values, long completedAtNanos, long generation) {
+    }
+
+    /** A Sheets API read that may throw IOException. */
+    @FunctionalInterface
+    private interface SheetsRead<T> {
+        T execute() throws IOException;
+    }
 
     /**
      * Constructor with dependency injection (preferred).
@@ -55,6 +103,35 @@ public class GoogleSheetsFacade {
         this.defaultSheetName = getFirstSheetName();
     }
 
+    /**
+     * Set how long a completed read may be reused by later reads of the same range.
+     * Zero (the default) only shares reads that are still in flight.
+     */
+    public void setReadFreshness(Duration readFreshness) {
+        this.readFreshness = readFreshness;
+    }
+
+    /**
+     * @return number of reads actually sent to the Sheets API
+     */
+    public long getExecutedReadCount() {
+        return executedReads.get();
+    }
+
+    /**
+     * @return number of reads answered by an in-flight or recently completed read of the same range
+     */
+    public long getDedupedReadCount() {
+        return dedupedReads.get();
+    }
+
+    /**
+     * Report read statistics. Called by Spring when the context shuts down.
+     */
+    public void close() {
+        log.info("Google Sheets reads: {} executed, {} deduplicated", executedReads.get(), dedupedReads.get());
+    }
+
     /**
      * Factory method for creating a real Google Sheets client.
      */
@@ -75,7 +152,7 @@ public class GoogleSheetsFacade {
     }
 
     /**
-     * Get the name of the first sheet.
+     * Get the name of the first sheet (and remember the IDs and grid sizes of all sheets).
      */
     private String getFirstSheetName() throws IOException {
         Spreadsheet spreadsheet = service.spreadsheets().get(spreadsheetId).execute();
@@ -84,14 +161,74 @@ public class GoogleSheetsFacade {
         if (sheets == null || sheets.isEmpty()) {
             throw new EmptySpreadsheetException("Spreadsheet has no sheets!");
         }
+        sheets.forEach(sheet -> {
+            sheetIds.put(sheet.getProperties().getTitle(), sheet.getProperties().getSheetId());
+            GridProperties grid = sheet.getProperties().getGridProperties();
+            if (grid != null && grid.getRowCount() != null) {
+                gridRowCounts.put(sheet.getProperties().getTitle(), grid.getRowCount());
+            }
+        });
         return sheets.get(0).getProperties().getTitle();
     }
 
+    /**
+     * Create a sheet (tab) with the given title unless it already exists.
+     *
+     * @param hidden whether a newly created sheet should be hidden in the UI
+     * @return true if the sheet was created, false if it already existed
+     */
+    public boolean ensureSheet(String title, boolean hidden) throws IOException {
+        if (sheetIds.containsKey(title)) {
+            return false;
+        }
+        Request addSheet = new Request().setAddSheet(new AddSheetRequest()
+                .setProperties(new SheetProperties().setTitle(title).setHidden(hidden)));
+        BatchUpdateSpreadsheetResponse response = service.spreadsheets()
+                .batchUpdate(spreadsheetId, new BatchUpdateSpreadsheetRequest().setRequests(List.of(addSheet)))
+                .execute();
+
+        sheetIds.put(title, response.getReplies().get(0).getAddSheet().getProperties().getSheetId());
+        invalidateReads();
+        log.info("Sheet '{}' created.", title);
+        return true;
+    }
+
+    /**
+     * @return title of the main (first) sheet
+     */
+    public String getDefaultSheetName() {
+        return defaultSheetName;
+    }
+
+    /**
+     * Number of grid rows of a sheet as loaded at startup, which is an upper bound on its
+     * data rows (appends grow the grid, deletes shrink it). Costs no request.
+     *
+     * @return the grid row count, or -1 if unknown
+     */
+    public int getGridRowCount(String sheetName) {
+        return gridRowCounts.getOrDefault(sheetName, -1);
+    }
+
+    /**
+     * @return true if the spreadsheet has a sheet (tab) with the given title
+     */
+    public boolean hasSheet(String title) {
+        return sheetIds.containsKey(title);
+    }
+
     /**
      * Initialize header row if missing.
      */
     public void initializeHeaderIfEmpty() throws IOException {
-        String range = defaultSheetName + "!A1:F1";
+        initializeHeaderIfEmpty(defaultSheetName);
+    }
+
+    /**
+     * Initialize header row of the given sheet if missing.
+     */
+    public void initializeHeaderIfEmpty(String sheetName) throws IOException {
+        String range = sheetName + "!A1:F1";
         ValueRange response = service.spreadsheets().values()
                 .get(spreadsheetId, range)
                 .execute();
@@ -106,13 +243,43 @@ public class GoogleSheetsFacade {
                     .update(spreadsheetId, range, body)
                     .setValueInputOption("RAW")
                     .execute();
+            invalidateReads();
 
-            log.info("Header initialized in Google Sheet.");
+            log.info("Header initialized in sheet '{}'.", sheetName);
         } else {
-            log.info("Header already exists, skipping initialization.");
+            log.info("Header already exists in sheet '{}', skipping initialization.", sheetName);
         }
     }
 
+    /**
+     * Read the formula of a single cell (e.g. "View!A1"), or null if the cell is empty.
+     */
+    public String readFormula(String cell) throws IOException {
+        List<List<Object>> values = service.spreadsheets().values()
+                .get(spreadsheetId, cell)
+                .setValueRenderOption("FORMULA")
+                .execute()
+                .getValues();
+        return values == null || values.isEmpty() || values.get(0).isEmpty()
+                ? null
+                : values.get(0).get(0).toString();
+    }
+
+    /**
+     * Write a formula into a single cell (e.g. "View!A1"); the value is parsed as if typed by a user.
+     */
+    public void writeFormula(String cell, String formula) throws IOException {
+        ValueRange body = new ValueRange().setValues(List.of(List.of(formula)));
+
+        service.spreadsheets().values()
+                .update(spreadsheetId, cell, body)
+                .setValueInputOption("USER_ENTERED")
+                .execute();
+        invalidateReads();
+
+        log.debug("Formula written to {}: {}", cell, formula);
+    }
+
     /**
      * Append new row.
      */
@@ -125,18 +292,231 @@ public class GoogleSheetsFacade {
                 .setValueInputOption("RAW")
                 .execute();
 
+        invalidateReads();
         log.debug("Row appended: {}", row);
     }
 
+    /**
+     * Append many rows with a single API call.
+     * Used for bulk loads (e.g. snapshot restore) where a call per row is far too slow.
+     */
+    public void appendRows(List<List<Object>> rows) throws IOException {
+        appendRows(defaultSheetName, rows);
+    }
+
+    /**
+     * Append many rows to the given sheet with a single API call.
+     */
+    public void appendRows(String sheetName, List<List<Object>> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String range = sheetName + "!A:F";
+        ValueRange body = new ValueRange().setValues(rows);
+
+        service.spreadsheets().values()
+                .append(spreadsheetId, range, body)
+                .setValueInputOption("RAW")
+                .setInsertDataOption("INSERT_ROWS")
+                .execute();
+
+        invalidateReads();
+        log.debug("{} rows appended to sheet '{}'", rows.size(), sheetName);
+    }
+
     /**
      * Read all rows.
      */
     public List<List<Object>> readAll() throws IOException {
-        String range = defaultSheetName + "!A:F";
-        ValueRange response = service.spreadsheets().values()
+        return readAll(defaultSheetName);
+    }
+
+    /**
+     * Read all rows of the given sheet.
+     */
+    public List<List<Object>> readAll(String sheetName) throws IOException {
+        String range = sheetName + "!A:F";
+        return singleFlight(range, true, () -> service.spreadsheets().values()
                 .get(spreadsheetId, range)
-                .execute();
-        return response.getValues();
+                .execute()
+                .getValues());
+    }
+
+    /**
+     * Stream all rows of the given sheet (header included) to a consumer with one request.
+     * The raw response body is pull-parsed row by row, so memory stays constant whatever
+     * the sheet size. Not shared with other reads, since nothing is kept.
+     *
+     * @param rowConsumer receives each row; the list is reused, copy it to keep it
+     * @return number of rows streamed
+     */
+    public long streamAll(String sheetName, Consumer<List<Object>> rowConsumer) throws IOException {
+        String range = sheetName + "!A:F";
+        executedReads.incrementAndGet();
+        HttpResponse response = service.spreadsheets().values()
+                .get(spreadsheetId, range)
+                .executeUnparsed();
+        try (InputStream content = response.getContent()) {
+            return StreamingValuesDecoder.decode(content, rowConsumer);
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    /**
+     * Read a page of rows between two 1-based row numbers (inclusive).
+     * Returns an empty list when the page lies past the last row.
+     */
+    public List<List<Object>> readRows(int fromRow, int toRow) throws IOException {
+        return readRows(defaultSheetName, fromRow, toRow);
+    }
+
+    /**
+     * Read a page of rows of the given sheet between two 1-based row numbers (inclusive).
+     */
+    public List<List<Object>> readRows(String sheetName, int fromRow, int toRow) throws IOException {
+        String range = sheetName + "!A" + fromRow + ":F" + toRow;
+        // Pages are only shared while in flight; caching them would hold a whole scan in memory
+        List<List<Object>> values = singleFlight(range, false, () -> service.spreadsheets().values()
+                .get(spreadsheetId, range)
+                .execute()
+                .getValues());
+        return values != null ? values : List.of();
+    }
+
+    /**
+     * Read only the given columns (e.g. "A", "D"), starting at the given 1-based row.
+     * Uses a single batchGet, so unneeded columns are never transferred.
+     *
+     * @return one list of cell values per requested column, in request order;
+     *         trailing empty cells are omitted by the API
+     */
+    public List<List<Object>> readColumns(int fromRow, String... columns) throws IOException {
+        return readColumns(defaultSheetName, fromRow, columns);
+    }
+
+    /**
+     * Read only the given columns of the given sheet, starting at the given 1-based row.
+     */
+    public List<List<Object>> readColumns(String sheetName, int fromRow, String... columns) throws IOException {
+        return readColumns(sheetName, fromRow, true, columns);
+    }
+
+    /**
+     * Like {@link #readColumns(int, String...)}, but never answered from the freshness window,
+     * so it observes writes made by other processes up to now. Used to re-locate rows after
+     * a conflicting update.
+     */
+    public List<List<Object>> readColumnsFresh(int fromRow, String... columns) throws IOException {
+        return readColumns(defaultSheetName, fromRow, false, columns);
+    }
+
+    /**
+     * Read single cells of the main sheet (e.g. "A7", "F7") with batchGets of at most
+     * {@value #MAX_RANGES_PER_BATCH_GET} cells, bypassing the freshness window.
+     *
+     * @return the value of each cell in request order (null if blank)
+     */
+    public List<String> readCells(List<String> cells) throws IOException {
+        List<String> ranges = new ArrayList<>(cells.size());
+        cells.forEach(cell -> ranges.add(defaultSheetName + "!" + cell));
+
+        List<ValueRange> response = batchGet("CELLS:", ranges);
+
+        List<String> values = new ArrayList<>(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            List<List<Object>> cell = response.get(i) != null ? response.get(i).getValues() : null;
+            Object value = cell == null || cell.isEmpty() || cell.get(0).isEmpty() ? null : cell.get(0).get(0);
+            values.add(value == null || value.toString().isBlank() ? null : value.toString());
+        }
+        return values;
+    }
+
+    private List<List<Object>> readColumns(String sheetName, int fromRow, boolean reusable, String... columns)
+            throws IOException {
+        List<String> ranges = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            ranges.add(sheetName + "!" + column + fromRow + ":" + column);
+        }
+
+        BatchGetValuesResponse response = singleFlight("COLUMNS:" + ranges, reusable, () -> service.spreadsheets().values()
+                .batchGet(spreadsheetId)
+                .setRanges(ranges)
+                .setMajorDimension("COLUMNS")
+                .execute());
+
+        List<List<Object>> result = new ArrayList<>(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            List<List<Object>> values = response.getValueRanges() != null && response.getValueRanges().size() > i
+                    ? response.getValueRanges().get(i).getValues()
+                    : null;
+            result.add(values == null || values.isEmpty() ? List.of() : values.get(0));
+        }
+        return result;
+    }
+
+    /**
+     * Read specific rows of the main sheet (1-based row numbers, ascending); runs of
+     * consecutive rows are merged into one range, and the ranges are fetched with
+     * batchGets of at most {@value #MAX_RANGES_PER_BATCH_GET} ranges each.
+     *
+     * @return the rows in request order; rows past the end of the sheet come back empty
+     */
+    public List<List<Object>> readRowsAt(List<Integer> rowNumbers) throws IOException {
+        if (rowNumbers.isEmpty()) {
+            return List.of();
+        }
+        List<String> ranges = new ArrayList<>();
+        List<Integer> rangeSizes = new ArrayList<>();
+        int start = rowNumbers.get(0);
+        int end = start;
+        for (int i = 1; i <= rowNumbers.size(); i++) {
+            if (i < rowNumbers.size() && rowNumbers.get(i) == end + 1) {
+                end++;
+                continue;
+            }
+            ranges.add(defaultSheetName + "!A" + start + ":F" + end);
+            rangeSizes.add(end - start + 1);
+            if (i < rowNumbers.size()) {
+                start = rowNumbers.get(i);
+                end = start;
+            }
+        }
+
+        List<ValueRange> response = batchGet("ROWS:", ranges);
+
+        List<List<Object>> rows = new ArrayList<>(rowNumbers.size());
+        for (int r = 0; r < ranges.size(); r++) {
+            List<List<Object>> values = response.get(r) != null ? response.get(r).getValues() : null;
+            for (int i = 0; i < rangeSizes.get(r); i++) {
+                rows.add(values != null && values.size() > i ? values.get(i) : List.of());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Fetch ranges with as many batchGets of at most {@value #MAX_RANGES_PER_BATCH_GET}
+     * ranges as needed, bypassing the freshness window.
+     *
+     * @return one value range per requested range, in request order (null if not returned)
+     */
+    private List<ValueRange> batchGet(String keyPrefix, List<String> ranges) throws IOException {
+        List<ValueRange> result = new ArrayList<>(ranges.size());
+        for (int from = 0; from < ranges.size(); from += MAX_RANGES_PER_BATCH_GET) {
+            List<String> chunk = new ArrayList<>(
+                    ranges.subList(from, Math.min(ranges.size(), from + MAX_RANGES_PER_BATCH_GET)));
+            BatchGetValuesResponse response = singleFlight(keyPrefix + chunk, false, () -> service.spreadsheets()
+                    .values()
+                    .batchGet(spreadsheetId)
+                    .setRanges(chunk)
+                    .execute());
+            List<ValueRange> returned = response.getValueRanges() != null ? response.getValueRanges() : List.of();
+            for (int i = 0; i < chunk.size(); i++) {
+                result.add(i < returned.size() ? returned.get(i) : null);
+            }
+        }
+        return result;
     }
 
     /**
@@ -151,8 +531,168 @@ public class GoogleSheetsFacade {
                 .setValueInputOption("RAW")
                 .execute();
 
+        invalidateReads();
         log.debug("Row {} updated: {}", rowIndex, row);
     }
+
+    /**
+     * Update many rows (keyed by 1-based row index) with a single batchUpdate call.
+     */
+    public void updateRows(Map<Integer, List<Object>> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<ValueRange> data = new ArrayList<>(rows.size());
+        rows.forEach((rowIndex, row) -> data.add(new ValueRange()
+                .setRange(defaultSheetName + "!A" + rowIndex + ":F" + rowIndex)
+                .setValues(Collections.singletonList(row))));
+
+        service.spreadsheets().values()
+                .batchUpdate(spreadsheetId, new BatchUpdateValuesRequest()
+                        .setValueInputOption("RAW")
+                        .setData(data))
+                .execute();
+
+        invalidateReads();
+        log.debug("{} rows updated", rows.size());
+    }
+
+    /**
+     * Write single cells of the main sheet (keyed by A1 notation, e.g. "D7") with a single
+     * batchUpdate, leaving every other cell of their rows untouched.
+     */
+    public void updateCells(Map<String, Object> cells) throws IOException {
+        updateCells(defaultSheetName, cells);
+    }
+
+    /**
+     * Write single cells of the given sheet (keyed by A1 notation) with a single batchUpdate.
+     */
+    public void updateCells(String sheetName, Map<String, Object> cells) throws IOException {
+        if (cells.isEmpty()) {
+            return;
+        }
+        List<ValueRange> data = new ArrayList<>(cells.size());
+        cells.forEach((cell, value) -> data.add(new ValueRange()
+                .setRange(sheetName + "!" + cell)
+                .setValues(List.of(List.of(value)))));
+
+        service.spreadsheets().values()
+                .batchUpdate(spreadsheetId, new BatchUpdateValuesRequest()
+                        .setValueInputOption("RAW")
+                        .setData(data))
+                .execute();
+
+        invalidateReads();
+        log.debug("{} cells updated", cells.size());
+    }
+
+    /**
+     * Delete rows (1-based indexes) from the main sheet with a single batchUpdate.
+     * Contiguous rows are merged into one delete, and deletes run bottom-up so that
+     * earlier deletes never shift the rows of later ones.
+     */
+    public void deleteRows(List<Integer> rowIndexes) throws IOException {
+        if (rowIndexes.isEmpty()) {
+            return;
+        }
+        List<Integer> sorted = new ArrayList<>(rowIndexes);
+        sorted.sort(Collections.reverseOrder());
+        int sheetId = sheetIds.get(defaultSheetName);
+
+        List<Request> requests = new ArrayList<>();
+        int end = sorted.get(0);     // inclusive, 1-based
+        int start = end;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i < sorted.size() && sorted.get(i) == start - 1) {
+                start--;
+                continue;
+            }
+            requests.add(new Request().setDeleteDimension(new DeleteDimensionRequest()
+                    .setRange(new DimensionRange()
+                            .setSheetId(sheetId)
+                            .setDimension("ROWS")
+                            .setStartIndex(start - 1) // 0-based, inclusive
+                            .setEndIndex(end))));     // 0-based, exclusive
+            if (i < sorted.size()) {
+                end = sorted.get(i);
+                start = end;
+            }
+        }
+
+        service.spreadsheets()
+                .batchUpdate(spreadsheetId, new BatchUpdateSpreadsheetRequest().setRequests(requests))
+                .execute();
+
+        invalidateReads();
+        log.debug("{} rows deleted in {} ranges", rowIndexes.size(), requests.size());
+    }
+
+    /**
+     * Execute a read, sharing it with concurrent reads of the same key and, if
+     * {@code reusable}, reusing a result that completed within the freshness window
+     * (unless a write happened since).
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T singleFlight(String key, boolean reusable, SheetsRead<T> read) throws IOException {
+        CompletedRead recent = recentReads.get(key);
+        if (recent != null && recent.generation() == writeGeneration.get()
+                && System.nanoTime() - recent.completedAtNanos() <= readFreshness.toNanos()) {
+            dedupedReads.incrementAndGet();
+            log.debug("Reused recent read of {}", key);
+            return (T) recent.values();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightReads.putIfAbsent(key, mine);
+        if (existing != null) {
+            dedupedReads.incrementAndGet();
+            log.debug("Joined in-flight read of {}", key);
+            return (T) await(existing);
+        }
+
+        long generation = writeGeneration.get();
+        try {
+            executedReads.incrementAndGet();
+            T values = read.execute();
+            // Only cache if no write happened while the read was running
+            if (reusable && !readFreshness.isZero() && generation == writeGeneration.get()) {
+                long now = System.nanoTime();
+                recentReads.values().removeIf(entry -> now - entry.completedAtNanos() > readFreshness.toNanos());
+                recentReads.put(key, new CompletedRead(values, now, generation));
+            }
+            mine.complete(values);
+            return values;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightReads.remove(key, mine);
+        }
+    }
+
+    /**
+     * Drop cached and in-flight reads after a write, so later reads observe it.
+     */
+    private void invalidateReads() {
+        writeGeneration.incrementAndGet();
+        recentReads.clear();
+        inFlightReads.clear();
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
 
 /**
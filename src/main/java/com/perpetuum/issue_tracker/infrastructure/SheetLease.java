@@ -0,0 +1,137 @@
+package com.perpetuum.issue_tracker.infrastructure;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SheetLease
+ * ----------
+ * A time-limited, cross-process mutual exclusion lease kept in a hidden sheet, for
+ * multi-step operations the Sheets API cannot make conditional (e.g. deleting rows by index).
+ *
+ * Protocol:
+ * - Every attempt appends one row: token | expiry (UTC instant) | holder. Appends are
+ *   serialized by Sheets, so all processes see the rows in the same order.
+ * - The attempt then re-reads the sheet; the first row whose expiry lies in the future
+ *   holds the lease. If that is not its own row, the attempt gives up.
+ * - Releasing overwrites the expiry with {@value #RELEASED}. Rows are never cleared or
+ *   deleted, so row numbers stay stable and appends never land in a gap.
+ *
+ * A holder that crashes blocks others until its lease expires. The holder itself stops
+ * {@link #CLOCK_SKEW_MARGIN} before the expiry it wrote, so clocks of the processes
+ * involved may differ by up to that margin.
+ */
+public class SheetLease implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SheetLease.class);
+
+    /** Tolerated clock difference between processes sharing a lease. */
+    public static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(1);
+
+    static final String RELEASED = "released";
+
+    private final GoogleSheetsFacade facade;
+    private final String sheetName;
+    private final int row;
+    private final long deadlineNanos;
+    private boolean released;
+
+    private SheetLease(GoogleSheetsFacade facade, String sheetName, int row, long deadlineNanos) {
+        this.facade = facade;
+        this.sheetName = sheetName;
+        this.row = row;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Try to take the lease kept in the given sheet (created hidden if missing).
+     *
+     * @param duration how long the lease is held at most; must exceed twice the clock skew margin
+     * @return the lease, or empty if another process holds it
+     */
+    public static Optional<SheetLease> tryAcquire(GoogleSheetsFacade facade, String sheetName, Duration duration)
+            throws IOException {
+        if (duration.compareTo(CLOCK_SKEW_MARGIN.multipliedBy(2)) <= 0) {
+            throw new IllegalArgumentException("Lease duration must exceed " + CLOCK_SKEW_MARGIN.multipliedBy(2));
+        }
+        facade.ensureSheet(sheetName, true);
+
+        String token = UUID.randomUUID().toString();
+        long start = System.nanoTime();
+        Instant expiry = Instant.now().plus(duration);
+        String holder = ProcessHandle.current().pid() + "@" + hostName();
+        facade.appendRows(sheetName, List.of(List.of(token, expiry.toString(), holder)));
+
+        // The append invalidated any cached read, so this observes every earlier append
+        List<List<Object>> rows = facade.readAll(sheetName);
+        Instant now = Instant.now();
+        int own = -1;
+        int holderRow = -1;
+        for (int i = 0; rows != null && i < rows.size(); i++) {
+            List<Object> entry = rows.get(i);
+            if (entry.size() < 2) {
+                continue;
+            }
+            if (token.equals(entry.get(0).toString())) {
+                own = i + 1;
+            }
+            if (holderRow < 0 && isLive(entry.get(1).toString(), now)) {
+                holderRow = i + 1;
+            }
+        }
+        if (own < 0) {
+            throw new IllegalStateException("Lease attempt " + token + " not found in sheet '" + sheetName + "'");
+        }
+
+        SheetLease lease = new SheetLease(facade, sheetName, own,
+                start + duration.minus(CLOCK_SKEW_MARGIN).toNanos());
+        if (holderRow != own) {
+            log.info("Lease in sheet '{}' is held by {}", sheetName, holderRow > 0 ? rows.get(holderRow - 1) : "?");
+            lease.close();
+            return Optional.empty();
+        }
+        log.debug("Lease in sheet '{}' acquired (row {})", sheetName, own);
+        return Optional.of(lease);
+    }
+
+    /**
+     * @return true while the lease is still safely held (checked against the local clock only)
+     */
+    public boolean isHeld() {
+        return !released && System.nanoTime() < deadlineNanos;
+    }
+
+    /**
+     * Release the lease; later calls do nothing.
+     */
+    @Override
+    public void close() throws IOException {
+        if (released) {
+            return;
+        }
+        released = true;
+        facade.updateCells(sheetName, Map.of("B" + row, RELEASED));
+    }
+
+    private static boolean isLive(String expiry, Instant now) {
+        try {
+            return Instant.parse(expiry).isAfter(now);
+        } catch (DateTimeParseException e) {
+            return false; // released, or not a lease row
+        }
+    }
+
+    private static String hostName() {
+        String host = System.getenv("HOSTNAME");
+        return host != null && !host.isBlank() ? host : "localhost";
+    }
+}
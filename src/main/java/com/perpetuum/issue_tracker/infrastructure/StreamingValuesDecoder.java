@@ -0,0 +1,98 @@
+package com.perpetuum.issue_tracker.infrastructure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.JsonParser;
+import com.google.api.client.json.JsonToken;
+import com.google.api.client.json.jackson2.JacksonFactory;
+
+/**
+ * StreamingValuesDecoder
+ *
+ * Pull-parses a Sheets {@code ValueRange} JSON body ({"range": ..., "values": [[...], ...]})
+ * and hands each row to a consumer as soon as it is decoded, instead of building the
+ * whole {@code List<List<Object>>} first. Memory stays at one row, whatever the response size.
+ *
+ * Cells are decoded the way the generated model's rows are used downstream: strings and
+ * numbers as their text, booleans as Boolean, null as an empty string. Unknown fields
+ * are skipped.
+ */
+public final class StreamingValuesDecoder {
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+
+    private StreamingValuesDecoder() {
+    }
+
+    /**
+     * Decode a ValueRange body, closing the stream when done.
+     *
+     * @param rowConsumer receives every row in order; the list is reused for the next row,
+     *                    so copy it to keep it
+     * @return number of rows decoded
+     * @throws IOException on I/O errors or if the body is not a JSON object
+     */
+    public static long decode(InputStream in, Consumer<List<Object>> rowConsumer) throws IOException {
+        JsonParser parser = JSON_FACTORY.createJsonParser(in, StandardCharsets.UTF_8);
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in Sheets response");
+            }
+            long rows = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("values".equals(field) && value == JsonToken.START_ARRAY) {
+                    rows += decodeRows(parser, rowConsumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return rows;
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static long decodeRows(JsonParser parser, Consumer<List<Object>> rowConsumer) throws IOException {
+        List<Object> row = new ArrayList<>();
+        long rows = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_ARRAY) {
+            row.clear();
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                row.add(cell(parser, token));
+            }
+            rowConsumer.accept(row);
+            rows++;
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Malformed values array in Sheets response: unexpected " + token);
+        }
+        return rows;
+    }
+
+    private static Object cell(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING, VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT:
+                return parser.getText();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return "";
+            case START_ARRAY, START_OBJECT:
+                parser.skipChildren(); // not produced by the values API; keep the column position
+                return "";
+            default:
+                throw new IOException("Malformed row in Sheets response: unexpected " + token);
+        }
+    }
+}
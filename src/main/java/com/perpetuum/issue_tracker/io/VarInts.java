@@ -0,0 +1,68 @@
+package com.perpetuum.issue_tracker.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Variable-length integer encoding shared by the binary file formats (snapshots, workload traces).
+ *
+ * Values are written as unsigned LEB128 varints: 7 bits per byte, low bits first, the high
+ * bit set on every byte but the last. Signed values that may be negative go through
+ * {@link #zigZag(long)} first, so small magnitudes stay short.
+ */
+public final class VarInts {
+
+    /**
+     * Thrown when a varint runs past 64 bits, i.e. the input is not a varint.
+     */
+    public static class MalformedVarIntException extends IOException {
+        public MalformedVarIntException(String message) {
+            super(message);
+        }
+    }
+
+    private VarInts() {
+    }
+
+    public static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    public static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * @throws MalformedVarIntException if the varint is longer than 64 bits
+     * @throws java.io.EOFException if the input ends inside the varint
+     */
+    public static long readVarLong(DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new MalformedVarIntException("Malformed varint: longer than 64 bits");
+    }
+
+    public static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.perpetuum.issue_tracker.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Thread-safe collector of latency samples for throughput and percentile reports.
+ *
+ * Samples are kept in full (8 bytes each), which is fine for load tests and
+ * replays of up to a few million operations.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    /**
+     * Record one latency sample.
+     */
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * @return number of recorded samples
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @param percentile value between 0 and 100
+     * @return the latency at the given percentile (nearest-rank), or zero if empty
+     */
+    public synchronized Duration percentile(double percentile) {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return Duration.ofNanos(sorted[Math.max(0, Math.min(count - 1, rank - 1))]);
+    }
+
+    /**
+     * One-line report: count, throughput over the given wall-clock time and latency percentiles.
+     */
+    public String summary(Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        int n = count();
+        return String.format("%d requests in %.2f s: %.1f req/s, p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms",
+                n, seconds, n / seconds,
+                millis(percentile(50)), millis(percentile(95)), millis(percentile(99)), millis(percentile(100)));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
@@ -22,11 +22,11 @@ import lombok.NoArgsConstructor;
  *
  * Uses Lombok annotations for boilerplate code generation:
  * - @Data: generates getters, setters, equals, hashCode, toString
- * - @Builder: provides builder pattern
+ * - @Builder: provides builder pattern (toBuilder for copies)
  * - @NoArgsConstructor and @AllArgsConstructor: constructor generation
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Issue {
@@ -0,0 +1,50 @@
+package com.perpetuum.issue_tracker.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * IssueChange
+ *
+ * A change detected between two polls of the issue set:
+ * - type: CREATED or STATUS_CHANGED
+ * - id: issue identifier
+ * - status: status after the change
+ * - previousStatus: status before the change (null for CREATED)
+ * - updatedAt: raw "Updated at" value after the change (may be null)
+ */
+@Value
+public class IssueChange {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    Type type;
+    String id;
+    Status status;
+    Status previousStatus;
+    String updatedAt;
+
+    /**
+     * @return the change as an ordered map, ready for JSON serialization (null fields omitted)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("type", type.name());
+        map.put("id", id);
+        if (status != null) {
+            map.put("status", status.name());
+        }
+        if (previousStatus != null) {
+            map.put("previousStatus", previousStatus.name());
+        }
+        if (updatedAt != null) {
+            map.put("updatedAt", updatedAt);
+        }
+        return map;
+    }
+}
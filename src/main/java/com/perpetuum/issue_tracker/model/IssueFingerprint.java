@@ -0,0 +1,35 @@
+package com.perpetuum.issue_tracker.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * IssueFingerprint
+ *
+ * The minimal projection of an issue needed to detect changes between polls:
+ * - id: issue identifier
+ * - status: current status (null if the cell is empty)
+ * - updatedAt: raw "Updated at" cell value (null if never updated)
+ * - unparseable: the stored status could not be parsed, so status and updatedAt are unknown
+ *
+ * The timestamp is kept as the stored string; it is only compared, never parsed.
+ */
+@Value
+@AllArgsConstructor
+public class IssueFingerprint {
+    String id;
+    Status status;
+    String updatedAt;
+    boolean unparseable;
+
+    public IssueFingerprint(String id, Status status, String updatedAt) {
+        this(id, status, updatedAt, false);
+    }
+
+    /**
+     * @return a marker for an existing issue whose stored status cannot be parsed
+     */
+    public static IssueFingerprint unparseable(String id) {
+        return new IssueFingerprint(id, null, null, true);
+    }
+}
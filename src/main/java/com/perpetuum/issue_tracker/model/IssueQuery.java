@@ -0,0 +1,100 @@
+package com.perpetuum.issue_tracker.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * IssueQuery
+ *
+ * A conjunction of optional filters over issues:
+ * - statuses: any of these statuses (empty = any status)
+ * - parentId: exact parent issue ID
+ * - createdAfter / createdBefore: createdAt range (inclusive / exclusive)
+ * - updatedAfter / updatedBefore: updatedAt range (inclusive / exclusive);
+ *   issues that were never updated never match an updatedAt bound
+ * - descriptionPrefix: case-sensitive description prefix
+ *
+ * Filters left null are not applied. Repositories decide how to evaluate a query;
+ * {@link #matches(Issue)} is the reference semantics they must agree with.
+ */
+@Value
+@Builder
+public class IssueQuery {
+    @Singular
+    Set<Status> statuses;
+    String parentId;
+    LocalDateTime createdAfter;
+    LocalDateTime createdBefore;
+    LocalDateTime updatedAfter;
+    LocalDateTime updatedBefore;
+    String descriptionPrefix;
+
+    /**
+     * @return true if no filter is set, i.e. the query matches every issue
+     */
+    public boolean isUnfiltered() {
+        return statuses.isEmpty() && parentId == null && descriptionPrefix == null
+                && createdAfter == null && createdBefore == null
+                && updatedAfter == null && updatedBefore == null;
+    }
+
+    /**
+     * @return true if the issue satisfies every filter of this query
+     */
+    public boolean matches(Issue issue) {
+        return (statuses.isEmpty() || statuses.contains(issue.getStatus()))
+                && (parentId == null || parentId.equals(issue.getParentId()))
+                && (descriptionPrefix == null
+                        || (issue.getDescription() != null && issue.getDescription().startsWith(descriptionPrefix)))
+                && inRange(issue.getCreatedAt(), createdAfter, createdBefore)
+                && inRange(issue.getUpdatedAt(), updatedAfter, updatedBefore);
+    }
+
+    /**
+     * @return true if the value lies in [after, before); a null value only passes open ranges
+     */
+    public static boolean inRange(LocalDateTime value, LocalDateTime after, LocalDateTime before) {
+        if (after == null && before == null) {
+            return true;
+        }
+        return value != null
+                && (after == null || !value.isBefore(after))
+                && (before == null || value.isBefore(before));
+    }
+
+    /**
+     * Human-readable form of the filters, e.g. for plan explanations.
+     */
+    @Override
+    public String toString() {
+        List<String> filters = new ArrayList<>();
+        if (!statuses.isEmpty()) {
+            filters.add("status IN " + statuses);
+        }
+        if (parentId != null) {
+            filters.add("parentId = " + parentId);
+        }
+        if (createdAfter != null) {
+            filters.add("createdAt >= " + createdAfter);
+        }
+        if (createdBefore != null) {
+            filters.add("createdAt < " + createdBefore);
+        }
+        if (updatedAfter != null) {
+            filters.add("updatedAt >= " + updatedAfter);
+        }
+        if (updatedBefore != null) {
+            filters.add("updatedAt < " + updatedBefore);
+        }
+        if (descriptionPrefix != null) {
+            filters.add("description STARTS WITH '" + descriptionPrefix + "'");
+        }
+        return filters.isEmpty() ? "(all issues)" : String.join(" AND ", filters);
+    }
+}
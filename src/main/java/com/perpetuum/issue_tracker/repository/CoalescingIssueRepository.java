@@ -0,0 +1,373 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.GoogleSheetsIssueRepository.IssueRepositoryException;
+import com.perpetuum.issue_tracker.repository.GoogleSheetsIssueRepository.PartialUpdateException;
+
+/**
+ * CoalescingIssueRepository
+ *
+ * Decorator for sharing one backend among many concurrent callers (e.g. the HTTP server).
+ *
+ * - Reads: concurrent identical reads (same status, ID or query) join a single in-flight
+ *   backend call and share its result. Every read the backend may implement more cheaply
+ *   than the interface default (ID existence checks, ID and fingerprint projections) is
+ *   passed through, never emulated with full reads.
+ * - Writes: creates and status updates are queued and flushed in micro-batches through
+ *   {@link IssueRepository#createAll(List)} and {@link IssueRepository#updateStatuses(Map)}.
+ *   Callers block until their batch has been written, so a returned write is durable.
+ *   When the backend reports a partially applied update batch
+ *   ({@link GoogleSheetsIssueRepository.PartialUpdateException}), only the callers whose
+ *   issue failed get the error; the others get their normal result.
+ *
+ * Every flushed write drops the in-flight read table, so a read that starts after a
+ * write returned never reuses a result fetched before it.
+ * Shared results must be treated as read-only.
+ */
+public class CoalescingIssueRepository implements IssueRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingIssueRepository.class);
+
+    private final IssueRepository delegate;
+    private final Map<String, CompletableFuture<Object>> inFlightReads = new ConcurrentHashMap<>();
+    private final WriteBatcher<Issue, Void> createBatcher;
+    private final WriteBatcher<StatusUpdate, Boolean> updateBatcher;
+
+    private final AtomicLong backendReads = new AtomicLong();
+    private final AtomicLong coalescedReads = new AtomicLong();
+
+    /**
+     * @param delegate backend repository
+     * @param maxBatchSize maximum writes per batched backend call
+     * @param maxBatchDelay how long the first write of a batch may wait for company
+     */
+    public CoalescingIssueRepository(IssueRepository delegate, int maxBatchSize, Duration maxBatchDelay) {
+        this.delegate = delegate;
+        this.createBatcher = new WriteBatcher<>("issue-create-batcher", maxBatchSize, maxBatchDelay,
+                this::flushCreates);
+        this.updateBatcher = new WriteBatcher<>("issue-update-batcher", maxBatchSize, maxBatchDelay,
+                this::flushUpdates);
+    }
+
+    @Override
+    public void create(Issue issue) {
+        createBatcher.submit(issue);
+    }
+
+    @Override
+    public boolean updateStatus(String issueId, Status status) {
+        return updateBatcher.submit(new StatusUpdate(issueId, status));
+    }
+
+    @Override
+    public List<Issue> findByStatus(Status status) {
+        return coalesce("status:" + status, () -> List.copyOf(delegate.findByStatus(status)));
+    }
+
+    @Override
+    public Optional<Issue> findById(String issueId) {
+        return coalesce("id:" + issueId, () -> delegate.findById(issueId));
+    }
+
+    @Override
+    public boolean existsById(String issueId) {
+        return coalesce("exists:" + issueId, () -> delegate.existsById(issueId));
+    }
+
+    @Override
+    public List<String> findAllIds() {
+        return coalesce("ids", () -> List.copyOf(delegate.findAllIds()));
+    }
+
+    @Override
+    public List<IssueFingerprint> findFingerprints() {
+        return coalesce("fingerprints", () -> List.copyOf(delegate.findFingerprints()));
+    }
+
+    @Override
+    public List<Issue> findByQuery(IssueQuery query) {
+        return coalesce("query:" + query, () -> List.copyOf(delegate.findByQuery(query)));
+    }
+
+    @Override
+    public QueryPlan explain(IssueQuery query) {
+        return delegate.explain(query);
+    }
+
+    @Override
+    public void createAll(List<Issue> issues) {
+        delegate.createAll(issues);
+        inFlightReads.clear();
+    }
+
+    @Override
+    public Set<String> updateStatuses(Map<String, Status> updates) {
+        try {
+            return delegate.updateStatuses(updates);
+        } finally {
+            inFlightReads.clear();
+        }
+    }
+
+    @Override
+    public void scanAll(int pageSize, Consumer<List<Issue>> pageConsumer) {
+        delegate.scanAll(pageSize, pageConsumer);
+    }
+
+    /**
+     * @return number of reads that actually reached the backend
+     */
+    public long getBackendReadCount() {
+        return backendReads.get();
+    }
+
+    /**
+     * @return number of reads answered by joining another caller's in-flight read
+     */
+    public long getCoalescedReadCount() {
+        return coalescedReads.get();
+    }
+
+    /**
+     * @return number of batched write calls made to the backend
+     */
+    public long getWriteBatchCount() {
+        return createBatcher.getBatchCount() + updateBatcher.getBatchCount();
+    }
+
+    /**
+     * Stop the batching threads. Pending writes are flushed first.
+     */
+    @Override
+    public void close() {
+        createBatcher.close();
+        updateBatcher.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(String key, Supplier<T> read) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightReads.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalescedReads.incrementAndGet();
+            return (T) join(existing);
+        }
+
+        backendReads.incrementAndGet();
+        try {
+            mine.complete(read.get());
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlightReads.remove(key, mine);
+        }
+        return (T) join(mine);
+    }
+
+    private List<Outcome<Void>> flushCreates(List<Issue> issues) {
+        delegate.createAll(issues);
+        inFlightReads.clear();
+        return Collections.nCopies(issues.size(), Outcome.of(null));
+    }
+
+    private List<Outcome<Boolean>> flushUpdates(List<StatusUpdate> updates) {
+        // Later updates of the same issue win, exactly as if they had run one after another
+        Map<String, Status> byId = new LinkedHashMap<>();
+        updates.forEach(update -> byId.put(update.issueId, update.status));
+
+        Set<String> updated;
+        Map<String, IssueRepositoryException> failures = Map.of();
+        try {
+            updated = delegate.updateStatuses(byId);
+        } catch (PartialUpdateException e) {
+            log.warn("Batch of {} status updates partially failed: {}", byId.size(), e.getMessage());
+            updated = e.getUpdated();
+            failures = e.getFailures();
+        } finally {
+            inFlightReads.clear();
+        }
+
+        List<Outcome<Boolean>> results = new ArrayList<>(updates.size());
+        for (StatusUpdate update : updates) {
+            IssueRepositoryException failure = failures.get(update.issueId);
+            results.add(failure != null ? Outcome.failed(failure) : Outcome.of(updated.contains(update.issueId)));
+        }
+        return results;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record StatusUpdate(String issueId, Status status) {
+    }
+
+    /**
+     * Result of one write within a flushed batch: a value, or the error of that write alone.
+     */
+    private record Outcome<R>(R value, RuntimeException failure) {
+
+        static <R> Outcome<R> of(R value) {
+            return new Outcome<>(value, null);
+        }
+
+        static <R> Outcome<R> failed(RuntimeException failure) {
+            return new Outcome<>(null, failure);
+        }
+    }
+
+    /**
+     * Collects submitted items on a daemon thread and hands them to the flush function
+     * in batches of up to {@code maxBatchSize}, waiting at most {@code maxBatchDelay}
+     * after the first item of a batch. The flush function returns one outcome per item;
+     * if it throws, every item of the batch fails.
+     */
+    private static final class WriteBatcher<T, R> implements AutoCloseable {
+
+        private final BlockingQueue<Pending<T, R>> queue = new LinkedBlockingQueue<>();
+        private final int maxBatchSize;
+        private final long maxBatchDelayNanos;
+        private final Function<List<T>, List<Outcome<R>>> flush;
+        private final Thread worker;
+        private final AtomicLong batches = new AtomicLong();
+        private volatile boolean closed;
+
+        WriteBatcher(String name, int maxBatchSize, Duration maxBatchDelay,
+                Function<List<T>, List<Outcome<R>>> flush) {
+            this.maxBatchSize = maxBatchSize;
+            this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+            this.flush = flush;
+            this.worker = new Thread(this::loop, name);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        R submit(T item) {
+            if (closed) {
+                throw new IllegalStateException("Repository is closed");
+            }
+            Pending<T, R> pending = new Pending<>(item);
+            queue.add(pending);
+            try {
+                return pending.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        long getBatchCount() {
+            return batches.get();
+        }
+
+        private void loop() {
+            List<Pending<T, R>> batch = new ArrayList<>(maxBatchSize);
+            while (!closed || !queue.isEmpty()) {
+                try {
+                    Pending<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    long deadline = System.nanoTime() + maxBatchDelayNanos;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        Pending<T, R> next = remaining > 0
+                                ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                                : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    closed = true;
+                } finally {
+                    batch.forEach(pending -> pending.result.completeExceptionally(
+                            new IllegalStateException("Write was not flushed")));
+                    batch.clear();
+                }
+            }
+        }
+
+        private void flush(List<Pending<T, R>> batch) {
+            List<T> items = new ArrayList<>(batch.size());
+            batch.forEach(pending -> items.add(pending.item));
+            batches.incrementAndGet();
+            try {
+                List<Outcome<R>> results = flush.apply(items);
+                for (int i = 0; i < batch.size(); i++) {
+                    Outcome<R> outcome = results.get(i);
+                    if (outcome.failure() != null) {
+                        batch.get(i).result.completeExceptionally(outcome.failure());
+                    } else {
+                        batch.get(i).result.complete(outcome.value());
+                    }
+                }
+                log.debug("Flushed batch of {} writes", batch.size());
+            } catch (RuntimeException e) {
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Anything that raced past the closed check is rejected rather than left hanging
+            Pending<T, R> pending;
+            while ((pending = queue.poll()) != null) {
+                pending.result.completeExceptionally(new IllegalStateException("Repository is closed"));
+            }
+        }
+
+        private static final class Pending<T, R> {
+            private final T item;
+            private final CompletableFuture<R> result = new CompletableFuture<>();
+
+            Pending(T item) {
+                this.item = item;
+            }
+        }
+    }
+}
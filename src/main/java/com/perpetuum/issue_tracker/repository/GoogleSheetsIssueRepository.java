@@ -1,32 +1,86 @@
 package com.perpetuum.issue_tracker.repository;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.perpetuum.issue_tracker.infrastructure.GoogleSheetsFacade;
+import com.perpetuum.issue_tracker.infrastructure.SheetLease;
 import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.IssueQuery;
 import com.perpetuum.issue_tracker.model.Status;
 
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_CREATED_AT;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_ID;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_STATUS;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_UPDATED_AT;
+
 /**
  * GoogleSheetsIssueRepository
  *
  * Repository implementation for persisting issues into Google Sheets.
  * It maps Issue objects into rows and vice versa.
+ *
+ * Optionally, long-closed issues are moved into an archive sheet so that the main
+ * sheet (read by every operation) only holds the active working set. Archived
+ * issues stay visible to CLOSED queries, lookups by ID and exports, but are read-only.
+ *
+ * Optionally, hidden per-status view sheets hold a FILTER formula over the main sheet,
+ * so {@link #findByStatus(Status)} transfers only matching rows. Missing or broken
+ * views fall back to reading the main sheet and filtering client-side.
+ *
+ * Compound queries ({@link #findByQuery(IssueQuery)}) go through {@link QueryPlanner}, which
+ * picks a full scan, a projected-column prefilter or the status views from the row and
+ * status counts observed by earlier reads (seeded from the sheet's grid size).
  */
 public class GoogleSheetsIssueRepository implements IssueRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(GoogleSheetsIssueRepository.class);
+
+    /** Prefix of the hidden per-status view sheets. */
+    static final String STATUS_VIEW_PREFIX = "_view_";
+
+    /** Lookup + verify + write rounds before a conflicting status update gives up. */
+    static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private static final String ID_COLUMN = "A";
+    private static final String STATUS_COLUMN = "D";
+    private static final String UPDATED_AT_COLUMN = "F";
+
+    /** Rows moved per append + delete round when archiving. */
+    static final int ARCHIVE_BATCH_SIZE = 500;
+
+    /** Prefix of the hidden sheet holding the lease that serializes archive runs. */
+    static final String ARCHIVE_LOCK_PREFIX = "_lock_";
+
+    /** Longest an archive run may hold its lease; a run that needs longer stops early. */
+    static final Duration ARCHIVE_LEASE = Duration.ofMinutes(10);
+
     private final GoogleSheetsFacade sheetsFacade;
+    private final String archiveSheetName;
+    private volatile boolean statusViewsEnabled;
 
-    // Column indices (0-based)
-    private static final int COL_ID = 0;
-    private static final int COL_DESCRIPTION = 1;
-    private static final int COL_PARENT_ID = 2;
-    private static final int COL_STATUS = 3;
-    private static final int COL_CREATED_AT = 4;
-    private static final int COL_UPDATED_AT = 5;
+    // Planner statistics, refreshed whenever a read sees the whole main sheet
+    private volatile long observedRowCount = -1;
+    private volatile Map<Status, Long> observedStatusCounts;
 
     /**
      * Custom runtime exception to encapsulate repository-specific errors.
@@ -37,8 +91,107 @@ public class GoogleSheetsIssueRepository implements IssueRepository {
         }
     }
 
+    /**
+     * Thrown when concurrent writers keep changing the rows of a status update.
+     */
+    public static class ConcurrentUpdateException extends IssueRepositoryException {
+        public ConcurrentUpdateException(String message) {
+            super(message, null);
+        }
+    }
+
+    /**
+     * Thrown when a status write landed on another issue's row (the rows moved during the
+     * write) and that row could not be restored to its previous Status and Updated at.
+     */
+    public static class MisdirectedWriteException extends IssueRepositoryException {
+        public MisdirectedWriteException(String message) {
+            super(message, null);
+        }
+    }
+
+    /**
+     * Thrown by a batched status update when some of its issues could not be updated.
+     * The other issues were written; the outcome is reported per issue ID.
+     */
+    public static class PartialUpdateException extends IssueRepositoryException {
+        private final Set<String> updated;
+        private final Map<String, IssueRepositoryException> failures;
+
+        public PartialUpdateException(Set<String> updated, Map<String, IssueRepositoryException> failures) {
+            super(String.format("Updated %d issue(s), failed to update %s: %s", updated.size(),
+                    failures.keySet(), failures.values().iterator().next().getMessage()),
+                    failures.values().iterator().next());
+            this.updated = Set.copyOf(updated);
+            this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        }
+
+        /**
+         * @return IDs of the issues that were found and updated
+         */
+        public Set<String> getUpdated() {
+            return updated;
+        }
+
+        /**
+         * @return the error per issue ID that was not updated
+         */
+        public Map<String, IssueRepositoryException> getFailures() {
+            return failures;
+        }
+    }
+
+    /**
+     * Thrown when another process is archiving the same spreadsheet.
+     */
+    public static class ArchiveInProgressException extends IssueRepositoryException {
+        public ArchiveInProgressException(String message) {
+            super(message, null);
+        }
+    }
+
+    /** A located row to update, with its Updated at cell as seen by the lookup. */
+    private record RowTarget(String issueId, Status status, int row, String updatedAt) {
+    }
+
+    /** Status and Updated at cells of an issue as seen by the lookup (null = blank). */
+    private record PriorCells(String status, String updatedAt) {
+    }
+
     public GoogleSheetsIssueRepository(GoogleSheetsFacade sheetsFacade) {
+        this(sheetsFacade, null);
+    }
+
+    /**
+     * @param archiveSheetName name of the sheet holding archived issues (null disables archiving)
+     */
+    public GoogleSheetsIssueRepository(GoogleSheetsFacade sheetsFacade, String archiveSheetName) {
         this.sheetsFacade = sheetsFacade;
+        this.archiveSheetName = archiveSheetName;
+    }
+
+    /**
+     * Create (or repair) one hidden view sheet per Status and start using them for
+     * {@link #findByStatus(Status)}. Idempotent: existing sheets and formulas are kept
+     * (formulas are compared as normalized by {@link #normalizeFormula(String)}).
+     * If setup fails, queries keep filtering client-side.
+     */
+    public void enableStatusViews() {
+        try {
+            for (Status status : Status.values()) {
+                String view = statusViewName(status);
+                sheetsFacade.ensureSheet(view, true);
+
+                String formula = statusViewFormula(status);
+                if (!normalizeFormula(formula).equals(normalizeFormula(sheetsFacade.readFormula(view + "!A1")))) {
+                    sheetsFacade.writeFormula(view + "!A1", formula);
+                    log.info("Status view '{}' initialized.", view);
+                }
+            }
+            statusViewsEnabled = true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Status views unavailable, falling back to client-side filtering: {}", e.getMessage());
+        }
     }
 
     /**
@@ -47,14 +200,7 @@ public class GoogleSheetsIssueRepository implements IssueRepository {
     @Override
     public void create(Issue issue) {
         try {
-            sheetsFacade.appendRow(Arrays.asList(
-                    issue.getId(),
-                    issue.getDescription(),
-                    issue.getParentId() != null ? issue.getParentId() : "",
-                    issue.getStatus().name(),
-                    issue.getCreatedAt() != null ? issue.getCreatedAt().toString() : "",
-                    issue.getUpdatedAt() != null ? issue.getUpdatedAt().toString() : ""
-            ));
+            sheetsFacade.appendRow(IssueRowMapper.toRow(issue));
         } catch (IOException e) {
             throw new IssueRepositoryException(
                     String.format("Failed to create issue [%s] in Google Sheets", issue.getId()), e);
@@ -62,72 +208,854 @@ public class GoogleSheetsIssueRepository implements IssueRepository {
     }
 
     /**
-     * Update the status of an existing Issue by its ID.
-     * Reads all rows, finds the one matching issueId, updates status + timestamp.
+     * Append many Issues with a single append call.
+     */
+    @Override
+    public void createAll(List<Issue> issues) {
+        try {
+            sheetsFacade.appendRows(issues.stream()
+                    .map(IssueRowMapper::toRow)
+                    .collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new IssueRepositoryException(
+                    String.format("Failed to create %d issues in Google Sheets", issues.size()), e);
+        }
+    }
+
+    /**
+     * Update the status of an existing Issue by its ID, safely against concurrent writers
+     * (see {@link #updateStatuses(Map)}).
      */
     @Override
     public boolean updateStatus(String issueId, Status status) {
+        try {
+            return updateStatuses(Map.of(issueId, status)).contains(issueId);
+        } catch (PartialUpdateException e) {
+            throw e.getFailures().get(issueId);
+        }
+    }
+
+    /**
+     * Update the status of many issues with optimistic, conditional cell writes, so several
+     * processes can update the same sheet at once.
+     *
+     * Each round:
+     * 1. locate the pending issues with a fresh read of the ID, Status and Updated at columns;
+     * 2. re-read the ID and Updated at cells of the located rows and keep the rows that are
+     *    unchanged (anything else is a conflict: a shifted row or another writer);
+     * 3. write only the Status and Updated at cells of the verified rows, in one batchUpdate;
+     * 4. read the ID cells back to confirm the rows did not move during the write.
+     * Conflicting issues are retried with a new lookup, up to {@value #MAX_UPDATE_ATTEMPTS} rounds.
+     * An issue that fails does not stop the others: its error is recorded and reported
+     * together with the issues that were updated.
+     *
+     * Sheets has no compare-and-set, so a row moved between steps 2 and 3 (a delete or insert
+     * above it) still receives the write. Step 4 detects that and puts back the Status and
+     * Updated at that the issue now in that row had at step 1 (or blanks a row that is now
+     * empty), then retries the update.
+     *
+     * @return IDs of the issues that were found and updated
+     * @throws PartialUpdateException if some issues were not updated, with a
+     *         {@link ConcurrentUpdateException} for those that still conflict after the last round,
+     *         a {@link MisdirectedWriteException} for those whose misdirected write could not be
+     *         undone, and an {@link IssueRepositoryException} for those pending when Sheets failed
+     */
+    @Override
+    public Set<String> updateStatuses(Map<String, Status> updates) {
+        Map<String, Status> pending = new LinkedHashMap<>(updates);
+        Set<String> updated = new HashSet<>();
+        Map<String, IssueRepositoryException> failures = new LinkedHashMap<>();
+        try {
+            for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+                if (attempt > 1) {
+                    backOff(attempt);
+                }
+                Map<String, PriorCells> prior = new HashMap<>();
+                List<RowTarget> located = locate(pending, prior); // drops issues that do not exist
+                List<RowTarget> verified = verify(located);
+                if (verified.isEmpty()) {
+                    continue;
+                }
+
+                String now = LocalDateTime.now().toString();
+                Map<String, Object> cells = new LinkedHashMap<>();
+                List<String> idCells = new ArrayList<>();
+                for (RowTarget target : verified) {
+                    cells.put(STATUS_COLUMN + target.row(), target.status().name());
+                    cells.put(UPDATED_AT_COLUMN + target.row(), now);
+                    idCells.add(ID_COLUMN + target.row());
+                }
+                sheetsFacade.updateCells(cells);
+
+                List<String> idsAfter = sheetsFacade.readCells(idCells);
+                for (int i = 0; i < verified.size(); i++) {
+                    RowTarget target = verified.get(i);
+                    if (target.issueId().equals(idsAfter.get(i))) {
+                        updated.add(target.issueId());
+                        pending.remove(target.issueId());
+                    } else {
+                        log.warn("Row {} moved while updating issue [{}]; restoring issue [{}] now in that row "
+                                + "and retrying.", target.row(), target.issueId(), idsAfter.get(i));
+                        try {
+                            undoMisdirectedWrite(target, idsAfter.get(i), prior);
+                        } catch (MisdirectedWriteException e) {
+                            failures.put(target.issueId(), e);
+                            pending.remove(target.issueId());
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            IssueRepositoryException failure = new IssueRepositoryException(
+                    String.format("Failed to update status for issues %s in Google Sheets", pending.keySet()), e);
+            pending.keySet().forEach(issueId -> failures.put(issueId, failure));
+            pending.clear();
+        }
+
+        if (!pending.isEmpty()) {
+            ConcurrentUpdateException conflict = new ConcurrentUpdateException(String.format(
+                    "Gave up updating issues %s after %d conflicting attempts", pending.keySet(), MAX_UPDATE_ATTEMPTS));
+            pending.keySet().forEach(issueId -> failures.put(issueId, conflict));
+        }
+        if (!failures.isEmpty()) {
+            throw new PartialUpdateException(updated, failures);
+        }
+        return updated;
+    }
+
+    /**
+     * Find a single issue by its ID (main sheet first, then the archive).
+     */
+    @Override
+    public Optional<Issue> findById(String issueId) {
         try {
             List<List<Object>> values = sheetsFacade.readAll();
             if (values == null || values.isEmpty()) {
-                return false;
+                return Optional.empty();
             }
 
-            for (int i = 1; i < values.size(); i++) { // skip header row
-                List<Object> row = values.get(i);
-                if (row.get(COL_ID).toString().equals(issueId)) {
-                    row.set(COL_STATUS, status.name());
+            Optional<Issue> active = values.stream()
+                    .skip(1) // skip header row
+                    .filter(row -> issueId.equals(IssueRowMapper.cell(row, COL_ID)))
+                    .findFirst()
+                    .map(IssueRowMapper::toIssue);
+            if (active.isPresent() || !hasArchive()) {
+                return active;
+            }
 
-                    // Ensure row has enough columns
-                    while (row.size() <= COL_UPDATED_AT) {
-                        row.add("");
-                    }
-                    row.set(COL_UPDATED_AT, LocalDateTime.now().toString());
+            return readArchive().stream()
+                    .filter(issue -> issueId.equals(issue.getId()))
+                    .findFirst();
+        } catch (IOException e) {
+            throw new IssueRepositoryException(
+                    String.format("Failed to fetch issue [%s] from Google Sheets", issueId), e);
+        }
+    }
 
-                    sheetsFacade.updateRow(i + 1, row); // Sheets rows are 1-based
-                    return true;
-                }
+    /**
+     * Check for an ID with a projected read of the main sheet's ID column, and of the
+     * archive's only if the main sheet does not have it. Sheets cannot filter values
+     * server-side, so the single ID column is the narrowest read that can prove an ID absent.
+     */
+    @Override
+    public boolean existsById(String issueId) {
+        try {
+            if (containsId(sheetsFacade.readColumns(2, ID_COLUMN).get(0), issueId)) { // skip header row
+                return true;
             }
-            return false;
+            return hasArchive() && containsId(sheetsFacade.readColumns(archiveSheetName, 2, ID_COLUMN).get(0), issueId);
         } catch (IOException e) {
             throw new IssueRepositoryException(
-                    String.format("Failed to update status for issue [%s] in Google Sheets", issueId), e);
+                    String.format("Failed to look up issue [%s] in Google Sheets", issueId), e);
+        }
+    }
+
+    /**
+     * Read all IDs with a projected read of the ID column of the main and archive sheets.
+     */
+    @Override
+    public List<String> findAllIds() {
+        try {
+            List<String> ids = new ArrayList<>();
+            collectIds(sheetsFacade.readColumns(2, ID_COLUMN).get(0), ids); // skip header row
+            if (hasArchive()) {
+                collectIds(sheetsFacade.readColumns(archiveSheetName, 2, ID_COLUMN).get(0), ids);
+            }
+            return ids;
+        } catch (IOException e) {
+            throw new IssueRepositoryException("Failed to read issue IDs from Google Sheets", e);
         }
     }
 
     /**
      * Find all issues by status.
      * Reads all rows, maps them into Issue objects, filters by status.
+     * CLOSED queries also include archived issues.
      */
     @Override
     public List<Issue> findByStatus(Status status) {
         try {
-            List<List<Object>> values = sheetsFacade.readAll();
-            if (values == null || values.isEmpty()) {
-                return List.of();
+            List<Issue> issues = statusViewsEnabled ? readStatusView(status) : null;
+            if (issues == null) {
+                List<List<Object>> values = sheetsFacade.readAll();
+                issues = values == null || values.isEmpty()
+                        ? new ArrayList<>()
+                        : values.stream()
+                                .skip(1) // skip header row
+                                .map(IssueRowMapper::toIssue)
+                                .filter(issue -> status.equals(issue.getStatus()))
+                                .collect(Collectors.toList());
             }
 
-            return values.stream()
-                    .skip(1) // skip header row
-                    .map(row -> Issue.builder()
-                            .id(row.get(COL_ID).toString())
-                            .description(row.get(COL_DESCRIPTION).toString())
-                            .parentId(row.size() > COL_PARENT_ID ? row.get(COL_PARENT_ID).toString() : null)
-                            .status(row.size() > COL_STATUS
-                                    ? Status.fromString(row.get(COL_STATUS).toString())
-                                    : null)
-                            .createdAt(row.size() > COL_CREATED_AT
-                                    ? LocalDateTime.parse(row.get(COL_CREATED_AT).toString())
-                                    : null)
-                            .updatedAt(row.size() > COL_UPDATED_AT
-                                    ? LocalDateTime.parse(row.get(COL_UPDATED_AT).toString())
-                                    : null)
-                            .build())
-                    .filter(issue -> status.equals(issue.getStatus()))
-                    .collect(Collectors.toList());
+            if (status == Status.CLOSED && hasArchive()) {
+                // An interrupted archive run can leave a row in both sheets; the active copy wins
+                Set<String> activeIds = issues.stream().map(Issue::getId).collect(Collectors.toSet());
+                readArchive().stream()
+                        .filter(issue -> !activeIds.contains(issue.getId()))
+                        .forEach(issues::add);
+            }
+            return issues;
         } catch (IOException e) {
             throw new IssueRepositoryException(
                     String.format("Failed to fetch issues with status [%s] from Google Sheets", status), e);
         }
     }
+
+    /**
+     * Find all issues matching a compound query, using the access path chosen by the planner.
+     * Rows are filtered on their raw cells; only matches are mapped into Issue objects.
+     * Queries that can match CLOSED issues also filter the archive sheet.
+     */
+    @Override
+    public List<Issue> findByQuery(IssueQuery query) {
+        QueryPlan plan = explain(query);
+        log.debug("Query plan for [{}]: {} ({})", query, plan.getAccessPath(), plan.getDetail());
+        try {
+            List<Issue> issues = switch (plan.getAccessPath()) {
+                case INDEX -> {
+                    List<Issue> indexed = queryStatusViews(query);
+                    yield indexed != null ? indexed : scanMatching(query);
+                }
+                case PROJECTED_PREFILTER -> prefilterMatching(query);
+                case FULL_SCAN -> scanMatching(query);
+            };
+
+            if (includesArchive(query)) {
+                // An interrupted archive run can leave a row in both sheets (or twice in the
+                // archive); the first copy wins, the active one if there is one
+                Set<String> seenIds = issues.stream().map(Issue::getId).collect(Collectors.toCollection(HashSet::new));
+                streamRows(archiveSheetName, row -> {
+                    if (QueryPlanner.matches(query, column -> IssueRowMapper.cell(row, column))
+                            && seenIds.add(IssueRowMapper.cell(row, COL_ID))) {
+                        issues.add(IssueRowMapper.toIssue(row));
+                    }
+                });
+            }
+            return issues;
+        } catch (IOException e) {
+            throw new IssueRepositoryException(
+                    String.format("Failed to run query [%s] against Google Sheets", query), e);
+        }
+    }
+
+    /**
+     * Plan a compound query from the statistics observed so far. Before the first read in
+     * this process (e.g. every one-shot CLI {@code list}), the row count is seeded from the
+     * main sheet's grid size loaded at startup and statuses are assumed evenly spread;
+     * long-running modes such as {@code serve} refine both with every full read.
+     */
+    @Override
+    public QueryPlan explain(IssueQuery query) {
+        long rowCount = observedRowCount;
+        if (rowCount < 0) {
+            int gridRows = sheetsFacade.getGridRowCount(sheetsFacade.getDefaultSheetName());
+            rowCount = gridRows > 1 ? gridRows - 1 : -1; // minus header row
+        }
+        QueryPlan plan = QueryPlanner.plan(query, rowCount, observedStatusCounts, statusViewsEnabled);
+        if (!includesArchive(query)) {
+            return plan;
+        }
+        return new QueryPlan(query, plan.getAccessPath(),
+                plan.getDetail() + "; then scan archive sheet '" + archiveSheetName + "'",
+                plan.getEstimatedRows(), plan.getSelectivity(), plan.getCosts());
+    }
+
+    /**
+     * Stream all issues page by page.
+     * Each page is a bounded range read, so memory stays proportional to the page size
+     * plus the set of IDs seen so far. An interrupted archive run can leave an issue in
+     * both sheets (or twice in the archive); only its first copy is passed on, the active
+     * one if there is one, so exports never contain an issue twice.
+     */
+    @Override
+    public void scanAll(int pageSize, Consumer<List<Issue>> pageConsumer) {
+        Set<String> seen = new HashSet<>();
+        Consumer<List<Issue>> distinct = page -> {
+            List<Issue> unseen = page.stream().filter(issue -> seen.add(issue.getId())).collect(Collectors.toList());
+            if (!unseen.isEmpty()) {
+                pageConsumer.accept(unseen);
+            }
+        };
+        scanSheet(null, pageSize, distinct);
+        if (hasArchive()) {
+            scanSheet(archiveSheetName, pageSize, distinct);
+        }
+    }
+
+    /**
+     * Move CLOSED issues that were last updated (or, if never updated, created) before
+     * the cutoff from the main sheet into the archive sheet.
+     *
+     * Sheets has no conditional delete, and deleting rows by index is only safe while no
+     * other process deletes rows above them. Archiving is the only operation that deletes
+     * rows, so a whole run holds a {@link SheetLease} in a hidden
+     * {@value #ARCHIVE_LOCK_PREFIX}&lt;archive&gt; sheet; concurrent runs fail fast with
+     * {@link ArchiveInProgressException}. Appends and in-place updates by other processes
+     * never move existing rows.
+     *
+     * Rows are processed bottom-up in batches of {@value #ARCHIVE_BATCH_SIZE}. For each batch:
+     * 1. re-read the candidate rows and keep those that still hold the same issue and still
+     *    qualify (another writer may have reopened or replaced them since the scan);
+     * 2. append the re-read rows to the archive;
+     * 3. re-read their ID, Status and Updated at cells and delete, with one batchUpdate,
+     *    only the rows that are still unchanged, if the lease is still held.
+     * A row that changes between steps 2 and 3, or a run that fails or runs out of lease
+     * time, leaves a copy in both sheets; readers keep the active copy, so a row can be
+     * duplicated but never lost. A run that runs out of lease time stops after the current
+     * batch; running it again continues where it stopped.
+     *
+     * @return number of archived issues
+     * @throws ArchiveInProgressException if another process is archiving
+     */
+    public int archiveClosedBefore(LocalDateTime cutoff) {
+        if (archiveSheetName == null) {
+            throw new IllegalStateException("No archive sheet configured");
+        }
+        try {
+            sheetsFacade.ensureSheet(archiveSheetName, false);
+            sheetsFacade.initializeHeaderIfEmpty(archiveSheetName);
+
+            try (SheetLease lease = SheetLease.tryAcquire(sheetsFacade, ARCHIVE_LOCK_PREFIX + archiveSheetName,
+                    ARCHIVE_LEASE).orElseThrow(() -> new ArchiveInProgressException(
+                            "Another process is archiving into sheet '" + archiveSheetName + "'"))) {
+                List<List<Object>> values = sheetsFacade.readAll();
+                if (values == null || values.isEmpty()) {
+                    return 0;
+                }
+
+                List<Integer> candidates = new ArrayList<>(); // 1-based row numbers, ascending
+                for (int i = 1; i < values.size(); i++) { // skip header row
+                    if (isClosedBefore(values.get(i), cutoff)) {
+                        candidates.add(i + 1);
+                    }
+                }
+
+                int archived = 0;
+                for (int end = candidates.size(); end > 0; end -= ARCHIVE_BATCH_SIZE) {
+                    if (!lease.isHeld()) {
+                        log.warn("Archive lease ran out after {} issues; run the archive again to continue", archived);
+                        break;
+                    }
+                    List<Integer> batch = candidates.subList(Math.max(0, end - ARCHIVE_BATCH_SIZE), end);
+                    archived += archiveBatch(batch, values, cutoff, lease);
+                }
+                return archived;
+            }
+        } catch (IOException e) {
+            throw new IssueRepositoryException(
+                    String.format("Failed to archive issues closed before %s in Google Sheets", cutoff), e);
+        }
+    }
+
+    /**
+     * Archive one batch of candidate rows (ascending 1-based row numbers) found in {@code scanned}.
+     *
+     * @return number of rows deleted from the main sheet
+     */
+    private int archiveBatch(List<Integer> batch, List<List<Object>> scanned, LocalDateTime cutoff,
+                             SheetLease lease) throws IOException {
+        List<List<Object>> fresh = sheetsFacade.readRowsAt(batch);
+        List<Integer> rows = new ArrayList<>();
+        List<List<Object>> copies = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            List<Object> row = fresh.get(i);
+            String scannedId = IssueRowMapper.cell(scanned.get(batch.get(i) - 1), COL_ID);
+            if (scannedId != null && scannedId.equals(IssueRowMapper.cell(row, COL_ID)) && isClosedBefore(row, cutoff)) {
+                rows.add(batch.get(i));
+                copies.add(row);
+            } else {
+                log.info("Row {} changed since the archive scan (issue [{}]); skipping it", batch.get(i), scannedId);
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        sheetsFacade.appendRows(archiveSheetName, copies);
+
+        List<String> cells = new ArrayList<>(rows.size() * 3);
+        for (int row : rows) {
+            cells.add(ID_COLUMN + row);
+            cells.add(STATUS_COLUMN + row);
+            cells.add(UPDATED_AT_COLUMN + row);
+        }
+        List<String> current = sheetsFacade.readCells(cells);
+        List<Integer> deletable = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            List<Object> copy = copies.get(i);
+            if (Objects.equals(IssueRowMapper.cell(copy, COL_ID), current.get(3 * i))
+                    && Objects.equals(IssueRowMapper.cell(copy, COL_STATUS), current.get(3 * i + 1))
+                    && Objects.equals(IssueRowMapper.cell(copy, COL_UPDATED_AT), current.get(3 * i + 2))) {
+                deletable.add(rows.get(i));
+            } else {
+                log.info("Row {} changed while archiving issue [{}]; keeping it in the main sheet",
+                        rows.get(i), IssueRowMapper.cell(copy, COL_ID));
+            }
+        }
+        if (!deletable.isEmpty()) {
+            if (!lease.isHeld()) {
+                log.warn("Archive lease ran out before deleting {} archived rows; they stay in both sheets",
+                        deletable.size());
+                return 0;
+            }
+            sheetsFacade.deleteRows(deletable);
+        }
+        return deletable.size();
+    }
+
+    /**
+     * Read the pre-filtered rows of a status view.
+     *
+     * @return the matching issues, or null if the view is missing or broken
+     */
+    private List<Issue> readStatusView(Status status) {
+        List<List<Object>> rows = readStatusViewRows(status);
+        return rows == null ? null : rows.stream().map(IssueRowMapper::toIssue).collect(Collectors.toList());
+    }
+
+    /**
+     * Read the raw, non-blank rows of a status view.
+     *
+     * @return the rows, or null if the view is missing or broken
+     */
+    private List<List<Object>> readStatusViewRows(Status status) {
+        String view = statusViewName(status);
+        if (!sheetsFacade.hasSheet(view)) {
+            return null;
+        }
+        try {
+            List<List<Object>> values = sheetsFacade.readAll(view);
+            List<List<Object>> rows = new ArrayList<>();
+            if (values == null) {
+                return rows;
+            }
+            for (List<Object> row : values) {
+                String id = IssueRowMapper.cell(row, COL_ID);
+                if (id == null) {
+                    continue; // an empty result renders as a single blank cell
+                }
+                // Formula errors (#REF!, #ERROR!, ...) or foreign rows mean the view is broken
+                if (id.startsWith("#") || !status.name().equalsIgnoreCase(IssueRowMapper.cell(row, COL_STATUS))) {
+                    log.warn("Status view '{}' looks broken ({}), filtering client-side", view, id);
+                    return null;
+                }
+                rows.add(row);
+            }
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Status view '{}' unreadable, filtering client-side: {}", view, e.getMessage());
+            return null;
+        }
+    }
+
+    static String statusViewName(Status status) {
+        return STATUS_VIEW_PREFIX + status.name();
+    }
+
+    /**
+     * FILTER over the main sheet's data rows; IFNA turns "no matches" into an empty view
+     * while real errors (e.g. #REF! after a rename) stay visible and trigger the fallback.
+     */
+    private String statusViewFormula(Status status) {
+        String main = "'" + sheetsFacade.getDefaultSheetName().replace("'", "''") + "'";
+        return String.format("=IFNA(FILTER(%1$s!A2:F, %1$s!D2:D=\"%2$s\"), \"\")", main, status.name());
+    }
+
+    /**
+     * Canonical form of a formula for comparison: Sheets re-renders stored formulas (spacing,
+     * function name case, quotes around sheet names that do not need them), so those are
+     * dropped outside string literals; literals are kept as they are.
+     */
+    static String normalizeFormula(String formula) {
+        if (formula == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(formula.length());
+        boolean inLiteral = false;
+        for (int i = 0; i < formula.length(); i++) {
+            char c = formula.charAt(i);
+            if (c == '"') {
+                inLiteral = !inLiteral;
+                normalized.append(c);
+            } else if (inLiteral) {
+                normalized.append(c);
+            } else if (!Character.isWhitespace(c) && c != '\'') {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private boolean hasArchive() {
+        return archiveSheetName != null && sheetsFacade.hasSheet(archiveSheetName);
+    }
+
+    /**
+     * Read the archived issues, keeping the first copy of an issue archived more than once.
+     */
+    private List<Issue> readArchive() throws IOException {
+        List<List<Object>> values = sheetsFacade.readAll(archiveSheetName);
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        Set<String> seen = new HashSet<>();
+        return values.stream()
+                .skip(1) // skip header row
+                .filter(row -> IssueRowMapper.cell(row, COL_ID) != null && seen.add(IssueRowMapper.cell(row, COL_ID)))
+                .map(IssueRowMapper::toIssue)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isClosedBefore(List<Object> row, LocalDateTime cutoff) {
+        if (!Status.CLOSED.name().equals(IssueRowMapper.cell(row, COL_STATUS))) {
+            return false;
+        }
+        String closedAt = IssueRowMapper.cell(row, COL_UPDATED_AT);
+        if (closedAt == null) {
+            closedAt = IssueRowMapper.cell(row, COL_CREATED_AT);
+        }
+        return closedAt != null && LocalDateTime.parse(closedAt).isBefore(cutoff);
+    }
+
+    /**
+     * Stream every issue of the main sheet matching the query to a consumer, with one request.
+     * The response is decoded row by row and rows are filtered on their raw cells, so neither
+     * the response nor the non-matching rows are ever materialized.
+     *
+     * @return number of matching issues
+     */
+    public long streamMatching(IssueQuery query, Consumer<Issue> issueConsumer) {
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        long[] counts = {0, 0}; // rows, matches
+        streamRows(null, row -> {
+            if (IssueRowMapper.cell(row, COL_ID) == null) {
+                return;
+            }
+            counts[0]++;
+            countStatus(statusCounts, IssueRowMapper.cell(row, COL_STATUS));
+            if (QueryPlanner.matches(query, column -> IssueRowMapper.cell(row, column))) {
+                counts[1]++;
+                issueConsumer.accept(IssueRowMapper.toIssue(row));
+            }
+        });
+        observe(counts[0], statusCounts);
+        return counts[1];
+    }
+
+    /**
+     * FULL_SCAN: stream the main sheet and map only rows whose raw cells match.
+     */
+    private List<Issue> scanMatching(IssueQuery query) {
+        List<Issue> issues = new ArrayList<>();
+        streamMatching(query, issues::add);
+        return issues;
+    }
+
+    /**
+     * PROJECTED_PREFILTER: read only the filtered columns, then fetch the full rows that matched.
+     * A row that no longer matches when fetched (it moved or changed in between) is dropped.
+     */
+    private List<Issue> prefilterMatching(IssueQuery query) throws IOException {
+        List<Integer> projected = QueryPlanner.projectedColumnIndexes(query);
+        List<List<Object>> columns = sheetsFacade.readColumns(2, // skip header row
+                QueryPlanner.projectedColumns(query).toArray(String[]::new));
+        int[] position = new int[IssueRowMapper.COLUMN_COUNT];
+        for (int i = 0; i < projected.size(); i++) {
+            position[projected.get(i)] = i;
+        }
+
+        List<Object> ids = columns.get(position[COL_ID]);
+        boolean statusProjected = projected.contains(COL_STATUS);
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        long rowCount = 0;
+        List<Integer> matchingRows = new ArrayList<>(); // 1-based row numbers, ascending
+        for (int i = 0; i < ids.size(); i++) {
+            final int index = i;
+            if (IssueRowMapper.cell(ids, index) == null) {
+                continue;
+            }
+            rowCount++;
+            if (statusProjected) {
+                countStatus(statusCounts, IssueRowMapper.cell(columns.get(position[COL_STATUS]), index));
+            }
+            if (QueryPlanner.matches(query, column -> IssueRowMapper.cell(columns.get(position[column]), index))) {
+                matchingRows.add(index + 2);
+            }
+        }
+        observe(rowCount, statusProjected ? statusCounts : observedStatusCounts);
+
+        return sheetsFacade.readRowsAt(matchingRows).stream()
+                .filter(row -> QueryPlanner.matches(query, column -> IssueRowMapper.cell(row, column)))
+                .map(IssueRowMapper::toIssue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * INDEX: read the status view of every queried status and filter the remaining predicates.
+     *
+     * @return matching issues, or null if any view is missing or broken
+     */
+    private List<Issue> queryStatusViews(IssueQuery query) {
+        List<Issue> issues = new ArrayList<>();
+        for (Status status : query.getStatuses()) {
+            List<List<Object>> rows = readStatusViewRows(status);
+            if (rows == null) {
+                return null;
+            }
+            rows.stream()
+                    .filter(row -> QueryPlanner.matches(query, column -> IssueRowMapper.cell(row, column)))
+                    .map(IssueRowMapper::toIssue)
+                    .forEach(issues::add);
+        }
+        return issues;
+    }
+
+    private boolean includesArchive(IssueQuery query) {
+        return (query.getStatuses().isEmpty() || query.getStatuses().contains(Status.CLOSED)) && hasArchive();
+    }
+
+    /**
+     * Find the first row of every pending issue with a fresh read of the ID, Status and
+     * Updated at columns; issues that are not found are removed from {@code pending}.
+     * The Status and Updated at of every issue read are put into {@code prior}, to undo
+     * a write that lands on another issue's row.
+     */
+    private List<RowTarget> locate(Map<String, Status> pending, Map<String, PriorCells> prior) throws IOException {
+        List<List<Object>> columns = sheetsFacade.readColumnsFresh(2, // skip header row
+                ID_COLUMN, STATUS_COLUMN, UPDATED_AT_COLUMN);
+        List<Object> ids = columns.get(0);
+        List<Object> statuses = columns.get(1);
+        List<Object> updatedAts = columns.get(2);
+
+        Map<String, RowTarget> located = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = IssueRowMapper.cell(ids, i);
+            if (id == null) {
+                continue;
+            }
+            String updatedAt = IssueRowMapper.cell(updatedAts, i);
+            prior.putIfAbsent(id, new PriorCells(IssueRowMapper.cell(statuses, i), updatedAt));
+            if (pending.containsKey(id) && !located.containsKey(id)) {
+                located.put(id, new RowTarget(id, pending.get(id), i + 2, updatedAt));
+            }
+        }
+        pending.keySet().retainAll(located.keySet());
+        return new ArrayList<>(located.values());
+    }
+
+    /**
+     * Put back the Status and Updated at cells of a row that received a write meant for
+     * {@code target} because the rows moved: the values the issue now in the row had at the
+     * lookup, or blanks if the row is now empty. The row's ID is checked again afterwards.
+     *
+     * @throws MisdirectedWriteException if the issue in the row is unknown to the lookup or
+     *         the row moved again during the repair
+     */
+    private void undoMisdirectedWrite(RowTarget target, String occupant, Map<String, PriorCells> prior)
+            throws IOException {
+        PriorCells restore = occupant == null ? new PriorCells(null, null) : prior.get(occupant);
+        if (restore == null) {
+            throw new MisdirectedWriteException(String.format(
+                    "Status update of issue [%s] landed on row %d, now holding issue [%s] whose previous "
+                            + "Status and Updated at are unknown; check that row",
+                    target.issueId(), target.row(), occupant));
+        }
+        Map<String, Object> cells = new LinkedHashMap<>();
+        cells.put(STATUS_COLUMN + target.row(), restore.status() != null ? restore.status() : "");
+        cells.put(UPDATED_AT_COLUMN + target.row(), restore.updatedAt() != null ? restore.updatedAt() : "");
+        sheetsFacade.updateCells(cells);
+
+        String idAfterRepair = sheetsFacade.readCells(List.of(ID_COLUMN + target.row())).get(0);
+        if (!Objects.equals(occupant, idAfterRepair)) {
+            throw new MisdirectedWriteException(String.format(
+                    "Status update of issue [%s] landed on row %d and the rows moved again while restoring "
+                            + "issue [%s] there (row now holds [%s]); check issues [%s] and [%s]",
+                    target.issueId(), target.row(), occupant, idAfterRepair, occupant, idAfterRepair));
+        }
+    }
+
+    /**
+     * Re-read the ID and Updated at cells of the located rows just before writing;
+     * keeps the rows that still hold the expected issue, unchanged since the lookup.
+     */
+    private List<RowTarget> verify(List<RowTarget> located) throws IOException {
+        if (located.isEmpty()) {
+            return located;
+        }
+        List<String> cells = new ArrayList<>(located.size() * 2);
+        for (RowTarget target : located) {
+            cells.add(ID_COLUMN + target.row());
+            cells.add(UPDATED_AT_COLUMN + target.row());
+        }
+        List<String> values = sheetsFacade.readCells(cells);
+
+        List<RowTarget> verified = new ArrayList<>(located.size());
+        for (int i = 0; i < located.size(); i++) {
+            RowTarget target = located.get(i);
+            if (target.issueId().equals(values.get(2 * i))
+                    && Objects.equals(target.updatedAt(), values.get(2 * i + 1))) {
+                verified.add(target);
+            } else {
+                log.debug("Update of issue [{}] conflicts at row {}, re-locating", target.issueId(), target.row());
+            }
+        }
+        return verified;
+    }
+
+    /** Randomized, growing pause between conflicting rounds, so competing writers spread out. */
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(10L * attempt, 50L * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean containsId(List<Object> column, String issueId) {
+        for (Object cell : column) {
+            if (cell != null && issueId.equals(cell.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectIds(List<Object> column, List<String> ids) {
+        for (int i = 0; i < column.size(); i++) {
+            String id = IssueRowMapper.cell(column, i);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+    }
+
+    private static void countStatus(Map<Status, Long> statusCounts, String status) {
+        for (Status candidate : Status.values()) {
+            if (candidate.name().equalsIgnoreCase(status)) {
+                statusCounts.merge(candidate, 1L, Long::sum);
+                return;
+            }
+        }
+    }
+
+    private void observe(long rowCount, Map<Status, Long> statusCounts) {
+        observedRowCount = rowCount;
+        observedStatusCounts = statusCounts;
+    }
+
+    /**
+     * Page through one sheet (null = main sheet).
+     */
+    private void scanSheet(String sheetName, int pageSize, Consumer<List<Issue>> pageConsumer) {
+        scanRows(sheetName, pageSize, rows -> pageConsumer.accept(rows.stream()
+                .filter(row -> IssueRowMapper.cell(row, COL_ID) != null)
+                .map(IssueRowMapper::toIssue)
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Stream the raw data rows of one sheet (null = main sheet), skipping the header row.
+     * Rows are reused by the decoder and must not be kept.
+     */
+    private void streamRows(String sheetName, Consumer<List<Object>> rowConsumer) {
+        String sheet = sheetName != null ? sheetName : sheetsFacade.getDefaultSheetName();
+        try {
+            boolean[] header = {true};
+            sheetsFacade.streamAll(sheet, row -> {
+                if (header[0]) {
+                    header[0] = false;
+                } else {
+                    rowConsumer.accept(row);
+                }
+            });
+        } catch (IOException e) {
+            throw new IssueRepositoryException(
+                    String.format("Failed to stream issues from sheet [%s] in Google Sheets", sheet), e);
+        }
+    }
+
+    /**
+     * Page through the raw rows of one sheet (null = main sheet).
+     */
+    private void scanRows(String sheetName, int pageSize, Consumer<List<List<Object>>> pageConsumer) {
+        int fromRow = 2; // skip header row (Sheets rows are 1-based)
+        try {
+            while (true) {
+                List<List<Object>> rows = sheetName == null
+                        ? sheetsFacade.readRows(fromRow, fromRow + pageSize - 1)
+                        : sheetsFacade.readRows(sheetName, fromRow, fromRow + pageSize - 1);
+                if (rows.isEmpty()) {
+                    return;
+                }
+                pageConsumer.accept(rows);
+                if (rows.size() < pageSize) {
+                    return;
+                }
+                fromRow += pageSize;
+            }
+        } catch (IOException e) {
+            throw new IssueRepositoryException(
+                    String.format("Failed to scan issues from row %d in Google Sheets", fromRow), e);
+        }
+    }
+
+    /**
+     * Read fingerprints using a projected read of the ID, Status and Updated at columns only,
+     * which skips the (large) description column entirely.
+     * Rows with an unknown status are logged and returned as {@link IssueFingerprint#unparseable}
+     * markers, so watchers know the issue still exists.
+     */
+    @Override
+    public List<IssueFingerprint> findFingerprints() {
+        try {
+            List<List<Object>> columns = sheetsFacade.readColumns(2, "A", "D", "F"); // skip header row
+            List<Object> ids = columns.get(0);
+            List<Object> statuses = columns.get(1);
+            List<Object> updatedAts = columns.get(2);
+
+            List<IssueFingerprint> fingerprints = new ArrayList<>(ids.size());
+            Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+            for (int i = 0; i < ids.size(); i++) {
+                String id = IssueRowMapper.cell(ids, i);
+                if (id == null) {
+                    continue;
+                }
+                String status = IssueRowMapper.cell(statuses, i);
+                Status parsed;
+                try {
+                    parsed = status != null ? Status.fromString(status) : null;
+                } catch (IllegalArgumentException e) {
+                    // One hand-edited cell must not break every watch poll
+                    log.warn("Unparseable status for issue [{}] in row {}: {}", id, i + 2, e.getMessage());
+                    fingerprints.add(IssueFingerprint.unparseable(id));
+                    continue;
+                }
+                countStatus(statusCounts, status);
+                fingerprints.add(new IssueFingerprint(id, parsed, IssueRowMapper.cell(updatedAts, i)));
+            }
+            observe(fingerprints.size(), statusCounts);
+            return fingerprints;
+        } catch (IOException e) {
+            throw new IssueRepositoryException("Failed to read issue fingerprints from Google Sheets", e);
+        }
+    }
 }
@@ -0,0 +1,176 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+
+/**
+ * InMemoryIssueRepository
+ *
+ * Repository implementation that keeps issues in memory, in insertion order.
+ * Intended as a local backend for tests and tooling (e.g. seeding from a snapshot);
+ * nothing is persisted.
+ *
+ * An optional per-call latency makes it a stand-in for Google Sheets: every
+ * repository call costs one simulated round trip, whatever its size, which is
+ * what makes batching and coalescing pay off against the real backend.
+ */
+public class InMemoryIssueRepository implements IssueRepository {
+
+    private final Map<String, Issue> issues = new LinkedHashMap<>();
+    private final Duration callLatency;
+    private final AtomicLong calls = new AtomicLong();
+
+    public InMemoryIssueRepository() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param callLatency simulated round-trip time added to every call
+     */
+    public InMemoryIssueRepository(Duration callLatency) {
+        this.callLatency = callLatency;
+    }
+
+    @Override
+    public void create(Issue issue) {
+        roundTrip();
+        synchronized (this) {
+            issues.put(issue.getId(), copy(issue));
+        }
+    }
+
+    @Override
+    public void createAll(List<Issue> batch) {
+        roundTrip();
+        synchronized (this) {
+            batch.forEach(issue -> issues.put(issue.getId(), copy(issue)));
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String issueId, Status status) {
+        roundTrip();
+        synchronized (this) {
+            return applyStatus(issueId, status);
+        }
+    }
+
+    @Override
+    public Set<String> updateStatuses(Map<String, Status> updates) {
+        roundTrip();
+        Set<String> updated = new HashSet<>();
+        synchronized (this) {
+            updates.forEach((issueId, status) -> {
+                if (applyStatus(issueId, status)) {
+                    updated.add(issueId);
+                }
+            });
+        }
+        return updated;
+    }
+
+    @Override
+    public List<Issue> findByStatus(Status status) {
+        roundTrip();
+        synchronized (this) {
+            return issues.values().stream()
+                    .filter(issue -> status.equals(issue.getStatus()))
+                    .map(InMemoryIssueRepository::copy)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public List<Issue> findByQuery(IssueQuery query) {
+        roundTrip();
+        synchronized (this) {
+            return issues.values().stream()
+                    .filter(query::matches)
+                    .map(InMemoryIssueRepository::copy)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public QueryPlan explain(IssueQuery query) {
+        return QueryPlan.fullScan(query, "filter all issues in memory");
+    }
+
+    @Override
+    public Optional<Issue> findById(String issueId) {
+        roundTrip();
+        synchronized (this) {
+            return Optional.ofNullable(issues.get(issueId)).map(InMemoryIssueRepository::copy);
+        }
+    }
+
+    @Override
+    public void scanAll(int pageSize, Consumer<List<Issue>> pageConsumer) {
+        List<Issue> snapshot;
+        synchronized (this) {
+            snapshot = issues.values().stream()
+                    .map(InMemoryIssueRepository::copy)
+                    .collect(Collectors.toList());
+        }
+        for (int from = 0; from < snapshot.size(); from += pageSize) {
+            roundTrip();
+            pageConsumer.accept(new ArrayList<>(
+                    snapshot.subList(from, Math.min(from + pageSize, snapshot.size()))));
+        }
+    }
+
+    /**
+     * @return number of stored issues
+     */
+    public synchronized int size() {
+        return issues.size();
+    }
+
+    /**
+     * @return number of (simulated) backend calls made so far
+     */
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    private boolean applyStatus(String issueId, Status status) {
+        Issue issue = issues.get(issueId);
+        if (issue == null) {
+            return false;
+        }
+        issue.setStatus(status);
+        issue.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    private void roundTrip() {
+        calls.incrementAndGet();
+        if (callLatency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(callLatency.toMillis(), callLatency.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Defensive copy so callers never share mutable state with the store. */
+    private static Issue copy(Issue issue) {
+        return issue.toBuilder().build();
+    }
+}
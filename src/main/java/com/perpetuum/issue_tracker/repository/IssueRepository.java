@@ -1,8 +1,17 @@
 package com.perpetuum.issue_tracker.repository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.IssueQuery;
 import com.perpetuum.issue_tracker.model.Status;
 
 /**
@@ -11,7 +20,7 @@ import com.perpetuum.issue_tracker.model.Status;
  * Responsibilities:
  * - Abstracts data persistence (e.g., Google Sheets, database, file system).
  * - Provides operations to create issues, update their status, 
- *   and query by status.
+ *   and query by status or by compound {@link IssueQuery}.
  */
 public interface IssueRepository {
 
@@ -22,6 +31,16 @@ public interface IssueRepository {
      */
     void create(Issue issue);
 
+    /**
+     * Persists many issues at once. Implementations should use a single
+     * batched write where the storage supports it.
+     *
+     * @param issues the issues to store, in order
+     */
+    default void createAll(List<Issue> issues) {
+        issues.forEach(this::create);
+    }
+
     /**
      * Updates the status of an existing issue.
      *
@@ -31,6 +50,25 @@ public interface IssueRepository {
      */
     boolean updateStatus(String issueId, Status status);
 
+    /**
+     * Updates the status of many issues at once. Implementations should use a
+     * single batched write where the storage supports it. An implementation that can fail
+     * for some issues after writing others reports the outcome per issue (see
+     * {@link GoogleSheetsIssueRepository.PartialUpdateException}).
+     *
+     * @param updates new status per issue ID
+     * @return IDs of the issues that were found and updated
+     */
+    default Set<String> updateStatuses(Map<String, Status> updates) {
+        Set<String> updated = new HashSet<>();
+        updates.forEach((issueId, status) -> {
+            if (updateStatus(issueId, status)) {
+                updated.add(issueId);
+            }
+        });
+        return updated;
+    }
+
     /**
      * Finds all issues with the given status.
      *
@@ -38,4 +76,90 @@ public interface IssueRepository {
      * @return a list of matching issues, possibly empty but never null
      */
     List<Issue> findByStatus(Status status);
+
+    /**
+     * Finds all issues matching every filter of the query.
+     * Implementations should pick the cheapest way to read the candidates and
+     * filter before materializing issues where possible.
+     *
+     * @param query the filters to apply
+     * @return matching issues in storage order, possibly empty but never null
+     */
+    default List<Issue> findByQuery(IssueQuery query) {
+        List<Issue> matches = new ArrayList<>();
+        scanAll(1_000, page -> page.stream().filter(query::matches).forEach(matches::add));
+        return matches;
+    }
+
+    /**
+     * Describes how {@link #findByQuery(IssueQuery)} would answer the query, without running it.
+     *
+     * @param query the filters to plan for
+     * @return the chosen plan
+     */
+    default QueryPlan explain(IssueQuery query) {
+        return QueryPlan.fullScan(query, "scanAll, filter in memory");
+    }
+
+    /**
+     * Finds a single issue by its ID.
+     *
+     * @param issueId the unique identifier of the issue
+     * @return the issue, or empty if it does not exist
+     */
+    default Optional<Issue> findById(String issueId) {
+        AtomicReference<Issue> found = new AtomicReference<>();
+        scanAll(1_000, page -> page.stream()
+                .filter(issue -> issueId.equals(issue.getId()))
+                .findFirst()
+                .ifPresent(issue -> found.compareAndSet(null, issue)));
+        return Optional.ofNullable(found.get());
+    }
+
+    /**
+     * Checks whether an issue with the given ID exists.
+     * Implementations should read only the ID column where possible.
+     *
+     * @param issueId the unique identifier of the issue
+     * @return true if the issue exists
+     */
+    default boolean existsById(String issueId) {
+        return findById(issueId).isPresent();
+    }
+
+    /**
+     * Returns the IDs of all stored issues.
+     * Implementations should read only the ID column where possible.
+     *
+     * @return IDs in storage order, possibly empty but never null
+     */
+    default List<String> findAllIds() {
+        List<String> ids = new ArrayList<>();
+        scanAll(1_000, page -> page.forEach(issue -> ids.add(issue.getId())));
+        return ids;
+    }
+
+    /**
+     * Streams every stored issue in pages of at most {@code pageSize} issues,
+     * in storage order.
+     *
+     * @param pageSize maximum number of issues handed to the consumer at once
+     * @param pageConsumer receives each page; pages are never null
+     */
+    void scanAll(int pageSize, Consumer<List<Issue>> pageConsumer);
+
+    /**
+     * Returns the change-detection fingerprint (ID, status, updatedAt) of every issue.
+     * Implementations should read only the columns involved where possible.
+     *
+     * @return fingerprints in storage order, possibly empty but never null
+     */
+    default List<IssueFingerprint> findFingerprints() {
+        List<IssueFingerprint> fingerprints = new ArrayList<>();
+        scanAll(1_000, page -> page.forEach(issue -> fingerprints.add(new IssueFingerprint(
+                issue.getId(),
+                issue.getStatus(),
+                issue.getUpdatedAt() != null ? issue.getUpdatedAt().toString() : null))));
+        return fingerprints;
+    }
 }
@@ -0,0 +1,74 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+
+/**
+ * IssueRowMapper
+ *
+ * Maps between Issue objects and spreadsheet rows (columns A-F).
+ * Blank cells are read back as null, so rows written by {@link #toRow(Issue)}
+ * round-trip cleanly.
+ */
+final class IssueRowMapper {
+
+    // Column indices (0-based)
+    static final int COL_ID = 0;
+    static final int COL_DESCRIPTION = 1;
+    static final int COL_PARENT_ID = 2;
+    static final int COL_STATUS = 3;
+    static final int COL_CREATED_AT = 4;
+    static final int COL_UPDATED_AT = 5;
+    static final int COLUMN_COUNT = 6;
+
+    private IssueRowMapper() {
+    }
+
+    /**
+     * Convert an Issue into a row of cell values.
+     */
+    static List<Object> toRow(Issue issue) {
+        List<Object> row = new ArrayList<>(COLUMN_COUNT);
+        row.add(issue.getId());
+        row.add(issue.getDescription());
+        row.add(issue.getParentId() != null ? issue.getParentId() : "");
+        row.add(issue.getStatus() != null ? issue.getStatus().name() : "");
+        row.add(issue.getCreatedAt() != null ? issue.getCreatedAt().toString() : "");
+        row.add(issue.getUpdatedAt() != null ? issue.getUpdatedAt().toString() : "");
+        return row;
+    }
+
+    /**
+     * Convert a row of cell values into an Issue.
+     * Missing trailing cells (Sheets omits them) and blank cells map to null.
+     */
+    static Issue toIssue(List<?> row) {
+        String status = cell(row, COL_STATUS);
+        String createdAt = cell(row, COL_CREATED_AT);
+        String updatedAt = cell(row, COL_UPDATED_AT);
+
+        return Issue.builder()
+                .id(cell(row, COL_ID))
+                .description(cell(row, COL_DESCRIPTION))
+                .parentId(cell(row, COL_PARENT_ID))
+                .status(status != null ? Status.fromString(status) : null)
+                .createdAt(createdAt != null ? LocalDateTime.parse(createdAt) : null)
+                .updatedAt(updatedAt != null ? LocalDateTime.parse(updatedAt) : null)
+                .build();
+    }
+
+    /**
+     * Read a cell as a string, returning null when it is missing or blank.
+     */
+    static String cell(List<?> row, int column) {
+        if (row.size() <= column || row.get(column) == null) {
+            return null;
+        }
+        String value = row.get(column).toString();
+        return value.isBlank() ? null : value;
+    }
+}
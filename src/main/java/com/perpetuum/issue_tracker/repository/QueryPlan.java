@@ -0,0 +1,66 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.util.Map;
+
+import com.perpetuum.issue_tracker.model.IssueQuery;
+
+import lombok.Value;
+
+/**
+ * QueryPlan
+ *
+ * How a repository is going to answer an {@link IssueQuery}, as shown by {@code list --explain}.
+ *
+ * Fields:
+ * - query: the planned query
+ * - accessPath: the chosen way of reading the rows
+ * - detail: what the access path reads, in the repository's own terms
+ * - estimatedRows: estimated number of stored issues (-1 if unknown)
+ * - selectivity: estimated fraction of issues matching the query
+ * - costs: estimated cost of every access path considered (empty if nothing was compared)
+ */
+@Value
+public class QueryPlan {
+
+    /**
+     * Ways of reading the candidate rows of a query.
+     */
+    public enum AccessPath {
+        /** Read every full row and filter the raw cells. */
+        FULL_SCAN,
+        /** Read only the filtered columns, then fetch the full rows that matched. */
+        PROJECTED_PREFILTER,
+        /** Read a pre-filtered local index (e.g. status views) and filter the rest. */
+        INDEX
+    }
+
+    IssueQuery query;
+    AccessPath accessPath;
+    String detail;
+    long estimatedRows;
+    double selectivity;
+    Map<AccessPath, Double> costs;
+
+    /**
+     * A plan for repositories without a planner: scan everything, filter in memory.
+     */
+    public static QueryPlan fullScan(IssueQuery query, String detail) {
+        return new QueryPlan(query, AccessPath.FULL_SCAN, detail, -1, 1.0, Map.of());
+    }
+
+    /**
+     * @return a multi-line, human-readable explanation of the plan
+     */
+    public String explain() {
+        StringBuilder text = new StringBuilder()
+                .append("Query: ").append(query).append(System.lineSeparator())
+                .append("Plan:  ").append(accessPath).append(" - ").append(detail).append(System.lineSeparator());
+        if (estimatedRows >= 0) {
+            text.append(String.format("Estimate: %d rows, selectivity %.4f, ~%d matches%n",
+                    estimatedRows, selectivity, Math.round(estimatedRows * selectivity)));
+        }
+        costs.forEach((path, cost) -> text.append(String.format("  cost %-19s %,12.0f%s%n",
+                path, cost, path == accessPath ? "  <- chosen" : "")));
+        return text.toString();
+    }
+}
@@ -0,0 +1,224 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import com.perpetuum.issue_tracker.infrastructure.GoogleSheetsFacade;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.QueryPlan.AccessPath;
+
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_CREATED_AT;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_DESCRIPTION;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_ID;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_PARENT_ID;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_STATUS;
+import static com.perpetuum.issue_tracker.repository.IssueRowMapper.COL_UPDATED_AT;
+
+/**
+ * QueryPlanner
+ *
+ * A small cost-based planner for {@link IssueQuery} over a sheet of issue rows.
+ *
+ * Costs are counted in transferred cells, with a description cell weighing as much as
+ * several narrow cells and every API request costing a fixed overhead. A prefilter fetches
+ * its matches with batchGets of bounded size, so it is charged one request per
+ * {@link GoogleSheetsFacade#MAX_RANGES_PER_BATCH_GET} matches (assuming scattered rows). Selectivity is
+ * estimated from observed status counts when known, otherwise from fixed defaults,
+ * assuming the filters are independent.
+ *
+ * Also evaluates queries against raw cells, so rows that do not match are never
+ * mapped into Issue objects.
+ */
+final class QueryPlanner {
+
+    /** Assumed number of rows before any read has counted them. */
+    static final long DEFAULT_ROW_COUNT = 1_000;
+
+    static final double NARROW_CELL_COST = 1;
+    static final double DESCRIPTION_CELL_COST = 8;
+    static final double REQUEST_COST = 2_000;
+    static final double ROW_COST = 5 * NARROW_CELL_COST + DESCRIPTION_CELL_COST;
+
+    static final double PARENT_SELECTIVITY = 0.1;
+    static final double PREFIX_SELECTIVITY = 0.1;
+    static final double OPEN_RANGE_SELECTIVITY = 1.0 / 3;
+    static final double CLOSED_RANGE_SELECTIVITY = 1.0 / 4;
+
+    private static final String[] COLUMN_LETTERS = {"A", "B", "C", "D", "E", "F"};
+
+    private QueryPlanner() {
+    }
+
+    /**
+     * Choose the cheapest access path for the query.
+     *
+     * @param rowCount observed number of rows, or -1 if unknown
+     * @param statusCounts observed rows per status, or null if unknown
+     * @param indexAvailable whether pre-filtered per-status views can be read
+     */
+    static QueryPlan plan(IssueQuery query, long rowCount, Map<Status, Long> statusCounts, boolean indexAvailable) {
+        long rows = rowCount >= 0 ? rowCount : DEFAULT_ROW_COUNT;
+        double statusFraction = statusFraction(query, rows, statusCounts);
+        double selectivity = statusFraction * residualSelectivity(query);
+
+        Map<AccessPath, Double> costs = new EnumMap<>(AccessPath.class);
+        costs.put(AccessPath.FULL_SCAN, rows * ROW_COST + REQUEST_COST);
+        if (!query.isUnfiltered()) {
+            double matches = rows * selectivity;
+            costs.put(AccessPath.PROJECTED_PREFILTER,
+                    rows * projectedCellCost(query) + REQUEST_COST
+                            + matches * ROW_COST + fetchRequests(matches) * REQUEST_COST);
+        }
+        if (indexAvailable && !query.getStatuses().isEmpty()) {
+            costs.put(AccessPath.INDEX,
+                    rows * statusFraction * ROW_COST + query.getStatuses().size() * REQUEST_COST);
+        }
+
+        AccessPath chosen = AccessPath.FULL_SCAN;
+        for (Map.Entry<AccessPath, Double> cost : costs.entrySet()) {
+            if (cost.getValue() < costs.get(chosen)) {
+                chosen = cost.getKey();
+            }
+        }
+        return new QueryPlan(query, chosen, describe(chosen, query), rows, selectivity, costs);
+    }
+
+    /**
+     * Letters of the columns a prefilter has to read: the ID (to find the row) plus
+     * every filtered column.
+     */
+    static List<String> projectedColumns(IssueQuery query) {
+        List<String> columns = new ArrayList<>();
+        for (int column : projectedColumnIndexes(query)) {
+            columns.add(COLUMN_LETTERS[column]);
+        }
+        return columns;
+    }
+
+    /**
+     * 0-based column indexes matching {@link #projectedColumns(IssueQuery)}, in the same order.
+     */
+    static List<Integer> projectedColumnIndexes(IssueQuery query) {
+        List<Integer> columns = new ArrayList<>();
+        columns.add(COL_ID);
+        if (query.getDescriptionPrefix() != null) {
+            columns.add(COL_DESCRIPTION);
+        }
+        if (query.getParentId() != null) {
+            columns.add(COL_PARENT_ID);
+        }
+        if (!query.getStatuses().isEmpty()) {
+            columns.add(COL_STATUS);
+        }
+        if (query.getCreatedAfter() != null || query.getCreatedBefore() != null) {
+            columns.add(COL_CREATED_AT);
+        }
+        if (query.getUpdatedAfter() != null || query.getUpdatedBefore() != null) {
+            columns.add(COL_UPDATED_AT);
+        }
+        return columns;
+    }
+
+    /**
+     * Evaluate the query against raw cell values.
+     * Cheap string comparisons run first; timestamps are only parsed for rows that pass them.
+     *
+     * @param cells cell value (null if missing or blank) per 0-based column index;
+     *              only the columns of {@link #projectedColumnIndexes(IssueQuery)} are asked for
+     */
+    static boolean matches(IssueQuery query, IntFunction<String> cells) {
+        if (cells.apply(COL_ID) == null) {
+            return false;
+        }
+        if (!query.getStatuses().isEmpty()) {
+            String status = cells.apply(COL_STATUS);
+            if (status == null || query.getStatuses().stream().noneMatch(s -> s.name().equalsIgnoreCase(status))) {
+                return false;
+            }
+        }
+        if (query.getParentId() != null && !query.getParentId().equals(cells.apply(COL_PARENT_ID))) {
+            return false;
+        }
+        if (query.getDescriptionPrefix() != null) {
+            String description = cells.apply(COL_DESCRIPTION);
+            if (description == null || !description.startsWith(query.getDescriptionPrefix())) {
+                return false;
+            }
+        }
+        if ((query.getCreatedAfter() != null || query.getCreatedBefore() != null)
+                && !IssueQuery.inRange(timestamp(cells.apply(COL_CREATED_AT)),
+                        query.getCreatedAfter(), query.getCreatedBefore())) {
+            return false;
+        }
+        return query.getUpdatedAfter() == null && query.getUpdatedBefore() == null
+                || IssueQuery.inRange(timestamp(cells.apply(COL_UPDATED_AT)),
+                        query.getUpdatedAfter(), query.getUpdatedBefore());
+    }
+
+    private static double statusFraction(IssueQuery query, long rows, Map<Status, Long> statusCounts) {
+        if (query.getStatuses().isEmpty()) {
+            return 1.0;
+        }
+        if (statusCounts == null || rows == 0) {
+            return Math.min(1.0, (double) query.getStatuses().size() / Status.values().length);
+        }
+        long matching = query.getStatuses().stream().mapToLong(s -> statusCounts.getOrDefault(s, 0L)).sum();
+        return Math.min(1.0, (double) matching / rows);
+    }
+
+    private static double residualSelectivity(IssueQuery query) {
+        double selectivity = 1.0;
+        if (query.getParentId() != null) {
+            selectivity *= PARENT_SELECTIVITY;
+        }
+        if (query.getDescriptionPrefix() != null) {
+            selectivity *= PREFIX_SELECTIVITY;
+        }
+        selectivity *= rangeSelectivity(query.getCreatedAfter(), query.getCreatedBefore());
+        selectivity *= rangeSelectivity(query.getUpdatedAfter(), query.getUpdatedBefore());
+        return selectivity;
+    }
+
+    private static double rangeSelectivity(LocalDateTime after, LocalDateTime before) {
+        if (after != null && before != null) {
+            return CLOSED_RANGE_SELECTIVITY;
+        }
+        return after != null || before != null ? OPEN_RANGE_SELECTIVITY : 1.0;
+    }
+
+    /**
+     * Number of batchGets needed to fetch the matching rows, if no two of them are adjacent.
+     */
+    static double fetchRequests(double matches) {
+        return Math.max(1, Math.ceil(matches / GoogleSheetsFacade.MAX_RANGES_PER_BATCH_GET));
+    }
+
+    private static double projectedCellCost(IssueQuery query) {
+        double cost = 0;
+        for (int column : projectedColumnIndexes(query)) {
+            cost += column == COL_DESCRIPTION ? DESCRIPTION_CELL_COST : NARROW_CELL_COST;
+        }
+        return cost;
+    }
+
+    private static String describe(AccessPath path, IssueQuery query) {
+        return switch (path) {
+            case FULL_SCAN -> "stream all columns in one request, filter raw cells while decoding";
+            case PROJECTED_PREFILTER -> "read columns " + String.join(",", projectedColumns(query))
+                    + ", filter, then fetch matching rows with batchGets of up to "
+                    + GoogleSheetsFacade.MAX_RANGES_PER_BATCH_GET + " ranges";
+            case INDEX -> "read status views " + query.getStatuses().stream()
+                    .map(GoogleSheetsIssueRepository::statusViewName)
+                    .toList() + ", filter remaining predicates";
+        };
+    }
+
+    private static LocalDateTime timestamp(String value) {
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
+}
@@ -2,10 +2,14 @@ package com.perpetuum.issue_tracker.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import com.perpetuum.issue_tracker.index.IssueIdIndex;
 import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueQuery;
 import com.perpetuum.issue_tracker.model.Status;
 import com.perpetuum.issue_tracker.repository.IssueRepository;
+import com.perpetuum.issue_tracker.repository.QueryPlan;
 
 /**
  * Application service layer for managing issues.
@@ -14,14 +18,29 @@ import com.perpetuum.issue_tracker.repository.IssueRepository;
  * - Orchestrates business logic for creating, updating, and listing issues.
  * - Validates inputs before delegating persistence to the repository.
  * - Enforces domain rules such as requiring a description and valid status.
+ * - With an {@link IssueIdIndex}, rejects unknown parent IDs and never reuses an ID,
+ *   reading the repository only when the index cannot answer for sure.
  *
  */
 public class IssueService {
 
+    /** Generated IDs tried before giving up on finding an unused one. */
+    static final int MAX_ID_ATTEMPTS = 5;
+
     private final IssueRepository repository;
+    private final IssueIdIndex idIndex;
 
     public IssueService(IssueRepository repository) {
+        this(repository, null);
+    }
+
+    /**
+     * @param idIndex index of known IDs used to validate parents and generated IDs
+     *                (null skips both checks)
+     */
+    public IssueService(IssueRepository repository, IssueIdIndex idIndex) {
         this.repository = repository;
+        this.idIndex = idIndex;
     }
 
     /**
@@ -29,15 +48,19 @@ public class IssueService {
      *
      * @param description issue description (required, non-blank)
      * @param parentId optional parent issue ID
-     * @throws IllegalArgumentException if description is null or blank
+     * @return the created issue
+     * @throws IllegalArgumentException if description is null or blank, or the parent does not exist
      */
-    public void createIssue(String description, String parentId) {
+    public Issue createIssue(String description, String parentId) {
         if (description == null || description.isBlank()) {
             throw new IllegalArgumentException("Description is required");
         }
+        if (parentId != null && !parentId.isBlank() && !parentExists(parentId)) {
+            throw new IllegalArgumentException("Parent issue " + parentId + " does not exist");
+        }
 
         Issue issue = Issue.builder()
-                .id(generateId())
+                .id(unusedId())
                 .description(description)
                 .parentId(parentId)
                 .status(Status.OPEN)
@@ -46,6 +69,10 @@ public class IssueService {
                 .build();
 
         repository.create(issue);
+        if (idIndex != null) {
+            idIndex.add(issue.getId());
+        }
+        return issue;
     }
 
     /**
@@ -71,6 +98,75 @@ public class IssueService {
         return repository.findByStatus(s);
     }
 
+    /**
+     * Lists issues matching a compound query.
+     *
+     * @param query filters to apply (status values are already validated by the enum)
+     * @return matching issues
+     * @throws IllegalArgumentException if a created or updated range is empty
+     */
+    public List<Issue> listByQuery(IssueQuery query) {
+        validateRange(query.getCreatedAfter(), query.getCreatedBefore(), "created");
+        validateRange(query.getUpdatedAfter(), query.getUpdatedBefore(), "updated");
+        return repository.findByQuery(query);
+    }
+
+    /**
+     * Describes how {@link #listByQuery(IssueQuery)} would run the query.
+     *
+     * @param query filters to plan for
+     * @return the repository's plan
+     */
+    public QueryPlan explainQuery(IssueQuery query) {
+        return repository.explain(query);
+    }
+
+    /**
+     * Looks up a single issue.
+     *
+     * @param issueId ID of the issue
+     * @return the issue, or empty if not found
+     */
+    public Optional<Issue> getIssue(String issueId) {
+        return repository.findById(issueId);
+    }
+
+    private static void validateRange(LocalDateTime after, LocalDateTime before, String field) {
+        if (after != null && before != null && !after.isBefore(before)) {
+            throw new IllegalArgumentException(
+                    "Invalid " + field + " range: " + after + " is not before " + before);
+        }
+    }
+
+    /**
+     * A positive index answer is trusted; a negative one may only mean the parent was
+     * created elsewhere, so it is confirmed with a read and then remembered.
+     */
+    private boolean parentExists(String parentId) {
+        if (idIndex == null || idIndex.mightContain(parentId)) {
+            return true;
+        }
+        if (repository.existsById(parentId)) {
+            idIndex.add(parentId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A negative index answer proves a generated ID unused; only a positive one
+     * (a real collision or a false positive) costs a read.
+     */
+    private String unusedId() {
+        for (int attempt = 0; attempt < MAX_ID_ATTEMPTS; attempt++) {
+            String id = generateId();
+            if (idIndex == null || !idIndex.mightContain(id) || !repository.existsById(id)) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("No unused issue ID found after " + MAX_ID_ATTEMPTS + " attempts");
+    }
+
     /**
      * Generates a unique issue ID.
      *  Format: AD-XXXXXXXX
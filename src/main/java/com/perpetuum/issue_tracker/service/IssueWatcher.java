@@ -0,0 +1,144 @@
+package com.perpetuum.issue_tracker.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.perpetuum.issue_tracker.model.IssueChange;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.IssueRepository;
+
+/**
+ * Watches the issue set for changes by polling lightweight fingerprints.
+ *
+ * Responsibilities:
+ * - Keeps the last seen fingerprint (ID, status, updatedAt) of every issue.
+ * - On each poll, reports only new issues and status changes.
+ * - Adapts the poll interval: doubles it while nothing changes (up to a maximum)
+ *   and drops back to the minimum as soon as something does.
+ *
+ * Memory is bounded by the current number of issues; fingerprints of issues that
+ * disappear (e.g. archived) are dropped on the next poll. An issue whose status cannot
+ * be parsed keeps its last good fingerprint, so fixing the cell reports at most a status
+ * change, never a second creation.
+ */
+public class IssueWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueWatcher.class);
+
+    private final IssueRepository repository;
+    private final Set<Status> statusFilter;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+
+    private Map<String, IssueFingerprint> known;
+    private Duration interval;
+
+    /**
+     * @param repository source of fingerprints
+     * @param statusFilter only report changes into these statuses (empty = report all)
+     * @param minInterval poll interval used right after a change
+     * @param maxInterval upper bound for the back-off
+     */
+    public IssueWatcher(IssueRepository repository, Set<Status> statusFilter,
+                        Duration minInterval, Duration maxInterval) {
+        if (minInterval.isNegative() || minInterval.isZero() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("Poll intervals must satisfy 0 < min <= max");
+        }
+        this.repository = repository;
+        this.statusFilter = Set.copyOf(statusFilter);
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.interval = minInterval;
+    }
+
+    /**
+     * Poll once and return the changes since the previous poll.
+     * The first poll only records a baseline and returns no changes.
+     * Also adjusts {@link #currentInterval()} for the next poll.
+     */
+    public List<IssueChange> poll() {
+        List<IssueFingerprint> current = repository.findFingerprints();
+        Map<String, IssueFingerprint> next = new HashMap<>(Math.max(16, current.size() * 4 / 3 + 1));
+        List<IssueChange> changes = new ArrayList<>();
+        boolean changed = false;
+
+        for (IssueFingerprint fingerprint : current) {
+            IssueFingerprint previous = known == null ? null : known.get(fingerprint.getId());
+            if (fingerprint.isUnparseable() && previous != null) {
+                next.put(fingerprint.getId(), previous);
+                continue;
+            }
+            next.put(fingerprint.getId(), fingerprint);
+            if (known == null) {
+                continue;
+            }
+
+            if (!fingerprint.equals(previous)) {
+                changed = true;
+            }
+            if (previous == null) {
+                report(changes, new IssueChange(IssueChange.Type.CREATED, fingerprint.getId(),
+                        fingerprint.getStatus(), null, fingerprint.getUpdatedAt()));
+            } else if (previous.getStatus() != fingerprint.getStatus()) {
+                report(changes, new IssueChange(IssueChange.Type.STATUS_CHANGED, fingerprint.getId(),
+                        fingerprint.getStatus(), previous.getStatus(), fingerprint.getUpdatedAt()));
+            } else if (!Objects.equals(previous.getUpdatedAt(), fingerprint.getUpdatedAt())) {
+                log.debug("Issue {} touched without a status change", fingerprint.getId());
+            }
+        }
+
+        known = next;
+        // Any change (even one filtered out) suggests activity, so poll eagerly again
+        interval = changed ? minInterval : backOff(interval);
+        return changes;
+    }
+
+    /**
+     * Poll until the current thread is interrupted, handing every change to the listener.
+     * Failed polls are logged and retried with back-off instead of ending the watch.
+     */
+    public void run(Consumer<IssueChange> listener) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                poll().forEach(listener);
+            } catch (RuntimeException e) {
+                log.warn("Poll failed, retrying in {}: {}", backOff(interval), e.getMessage());
+                interval = backOff(interval);
+            }
+
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return the interval to wait before the next poll
+     */
+    public Duration currentInterval() {
+        return interval;
+    }
+
+    private void report(List<IssueChange> changes, IssueChange change) {
+        if (statusFilter.isEmpty() || statusFilter.contains(change.getStatus())) {
+            changes.add(change);
+        }
+    }
+
+    private Duration backOff(Duration current) {
+        Duration doubled = current.multipliedBy(2);
+        return doubled.compareTo(maxInterval) > 0 ? maxInterval : doubled;
+    }
+}
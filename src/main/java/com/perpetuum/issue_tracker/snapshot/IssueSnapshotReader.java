@@ -0,0 +1,201 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.perpetuum.issue_tracker.io.VarInts;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+
+/**
+ * Reads issues back from the columnar snapshot format described in {@link SnapshotFormat}.
+ *
+ * Call {@link #readBlock()} until it returns null; the checksum and row count are
+ * verified when the end marker is reached. Every decoded count and length is bounds-checked
+ * before it is used, so a corrupted file fails with {@link SnapshotFormatException} instead
+ * of a huge allocation.
+ */
+public class IssueSnapshotReader implements Closeable {
+
+    private final CRC32 crc = new CRC32();
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private final Status[] dictionary;
+    private long totalRows;
+    private boolean finished;
+
+    public IssueSnapshotReader(InputStream source) throws IOException {
+        this.in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(source), crc));
+        this.dictionary = readHeader();
+    }
+
+    private Status[] readHeader() throws IOException {
+        try {
+            byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+                throw new SnapshotFormatException("Not an issue snapshot file");
+            }
+            int version = in.readUnsignedByte();
+            if (version != SnapshotFormat.VERSION) {
+                throw new SnapshotFormatException("Unsupported snapshot version: " + version);
+            }
+
+            // Statuses are resolved by name, so reordering the enum does not break old snapshots
+            // Status codes are one byte, so at most 255 entries
+            Status[] statuses = new Status[readLength(in, 255, "status dictionary size")];
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = Status.fromString(in.readUTF());
+            }
+            return statuses;
+        } catch (EOFException e) {
+            throw new SnapshotFormatException("Snapshot is truncated");
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotFormatException("Snapshot has an unknown status: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read the next block of issues.
+     *
+     * @return the issues of the next block, or null once the snapshot is exhausted
+     * @throws SnapshotFormatException if the file is corrupted or truncated
+     */
+    public List<Issue> readBlock() throws IOException {
+        if (finished) {
+            return null;
+        }
+        try {
+            int rows = readLength(in, SnapshotFormat.MAX_BLOCK_ROWS, "block row count");
+            if (rows == 0) {
+                readTrailer();
+                finished = true;
+                return null;
+            }
+
+            DataInputStream ids = readColumn();
+            DataInputStream descriptions = readColumn();
+            DataInputStream parentIds = readColumn();
+            DataInputStream statuses = readColumn();
+            DataInputStream createdAt = readColumn();
+            DataInputStream updatedAt = readColumn();
+
+            List<Issue> issues = new ArrayList<>(rows);
+            long previousCreated = 0;
+            long previousUpdated = 0;
+            for (int i = 0; i < rows; i++) {
+                Issue issue = new Issue();
+                issue.setId(readString(ids));
+                issue.setDescription(readString(descriptions));
+                issue.setParentId(readString(parentIds));
+                int code = statuses.readUnsignedByte();
+                issue.setStatus(code == 0 ? null : dictionary[code - 1]);
+
+                long created = SnapshotFormat.readVarLong(createdAt);
+                if (created != 0) {
+                    previousCreated += VarInts.unZigZag(created - 1);
+                    issue.setCreatedAt(toDateTime(previousCreated, createdAt));
+                }
+                long updated = SnapshotFormat.readVarLong(updatedAt);
+                if (updated != 0) {
+                    previousUpdated += VarInts.unZigZag(updated - 1);
+                    issue.setUpdatedAt(toDateTime(previousUpdated, updatedAt));
+                }
+                issues.add(issue);
+            }
+            totalRows += rows;
+            return issues;
+        } catch (EOFException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new SnapshotFormatException("Snapshot is truncated or corrupted");
+        }
+    }
+
+    private void readTrailer() throws IOException {
+        long expectedRows = in.readLong();
+        // Capture the checksum before consuming the stored value, which it does not cover
+        int actualCrc = (int) crc.getValue();
+        int expectedCrc = in.readInt();
+        if (actualCrc != expectedCrc) {
+            throw new SnapshotFormatException("Snapshot checksum mismatch");
+        }
+        if (expectedRows != totalRows) {
+            throw new SnapshotFormatException(
+                    String.format("Snapshot row count mismatch: expected %d, read %d", expectedRows, totalRows));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    private DataInputStream readColumn() throws IOException {
+        int rawLength = readLength(in, SnapshotFormat.MAX_COLUMN_BYTES, "column length");
+        int compressedLength = readLength(in, SnapshotFormat.MAX_COLUMN_BYTES, "compressed column length");
+        // Grows with the bytes actually present, so a bogus length hits the end of the file first
+        byte[] compressed = in.readNBytes(compressedLength);
+        if (compressed.length < compressedLength) {
+            throw new EOFException();
+        }
+        if (rawLength > (long) compressedLength * SnapshotFormat.MAX_DEFLATE_RATIO) {
+            throw new SnapshotFormatException("Snapshot column length " + rawLength
+                    + " cannot come from " + compressedLength + " compressed bytes");
+        }
+
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int n = inflater.inflate(raw);
+            if (n != rawLength || !inflater.finished()) {
+                throw new SnapshotFormatException("Snapshot column has unexpected length");
+            }
+        } catch (DataFormatException e) {
+            throw new SnapshotFormatException("Snapshot column is corrupted: " + e.getMessage());
+        }
+        return new DataInputStream(new ByteArrayInputStream(raw));
+    }
+
+    private static String readString(DataInputStream column) throws IOException {
+        int length = readLength(column, column.available() + 1L, "string length");
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        column.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a varint count or length and check it against an upper bound.
+     */
+    private static int readLength(DataInputStream source, long max, String what) throws IOException {
+        long value = SnapshotFormat.readVarLong(source);
+        if (value < 0 || value > max) {
+            throw new SnapshotFormatException("Snapshot " + what + " out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond, DataInputStream column) throws IOException {
+        int nanos = (int) SnapshotFormat.readVarLong(column);
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+}
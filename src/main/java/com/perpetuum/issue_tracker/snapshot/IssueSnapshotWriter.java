@@ -0,0 +1,179 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+
+import com.perpetuum.issue_tracker.io.VarInts;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+
+/**
+ * Writes issues into the columnar snapshot format described in {@link SnapshotFormat}.
+ *
+ * Issues are written block by block, so a caller can stream pages straight from
+ * the repository without holding the whole issue set in memory. The trailer is only
+ * written by {@link #finish()}, so an export that fails midway never looks complete.
+ */
+public class IssueSnapshotWriter implements Closeable {
+
+    private final CRC32 crc = new CRC32();
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private long totalRows;
+    private boolean finished;
+    private boolean closed;
+
+    public IssueSnapshotWriter(OutputStream target) throws IOException {
+        this.out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(target), crc));
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(SnapshotFormat.MAGIC);
+        out.writeByte(SnapshotFormat.VERSION);
+
+        Status[] dictionary = Status.values();
+        VarInts.writeVarLong(out, dictionary.length);
+        for (Status status : dictionary) {
+            out.writeUTF(status.name());
+        }
+    }
+
+    /**
+     * Append one block of issues. Empty blocks are ignored.
+     *
+     * @throws IllegalArgumentException if the block exceeds the sizes the reader accepts
+     */
+    public void writeBlock(List<Issue> issues) throws IOException {
+        if (issues.isEmpty()) {
+            return;
+        }
+        if (issues.size() > SnapshotFormat.MAX_BLOCK_ROWS) {
+            throw new IllegalArgumentException("Snapshot block of " + issues.size()
+                    + " rows exceeds " + SnapshotFormat.MAX_BLOCK_ROWS);
+        }
+        VarInts.writeVarLong(out, issues.size());
+        writeColumn(strings(issues, Issue::getId));
+        writeColumn(strings(issues, Issue::getDescription));
+        writeColumn(strings(issues, Issue::getParentId));
+        writeColumn(statuses(issues));
+        writeColumn(timestamps(issues, Issue::getCreatedAt));
+        writeColumn(timestamps(issues, Issue::getUpdatedAt));
+        totalRows += issues.size();
+    }
+
+    /**
+     * Write the trailer (row count and checksum). Only a finished snapshot is valid;
+     * call this once every block has been written.
+     */
+    public void finish() throws IOException {
+        if (finished || closed) {
+            throw new IllegalStateException("Snapshot already finished or closed");
+        }
+        VarInts.writeVarLong(out, 0);
+        out.writeLong(totalRows);
+        out.flush();
+        // The checksum covers everything up to here, so read it before writing it
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        finished = true;
+    }
+
+    /**
+     * Close the underlying stream. Without a prior {@link #finish()} no trailer is
+     * written, so the reader rejects the partial snapshot as truncated.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            deflater.end();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @return number of issues written so far
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    private void writeColumn(ByteArrayOutputStream column) throws IOException {
+        byte[] raw = column.toByteArray();
+        if (raw.length > SnapshotFormat.MAX_COLUMN_BYTES) {
+            throw new IllegalArgumentException("Snapshot column of " + raw.length + " bytes is too large; "
+                    + "export with a smaller block size");
+        }
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            compressed.write(buffer, 0, n);
+        }
+
+        VarInts.writeVarLong(out, raw.length);
+        VarInts.writeVarLong(out, compressed.size());
+        compressed.writeTo(out);
+    }
+
+    private static ByteArrayOutputStream strings(List<Issue> issues, Function<Issue, String> getter) {
+        ByteArrayOutputStream column = new ByteArrayOutputStream(issues.size() * 16);
+        for (Issue issue : issues) {
+            String value = getter.apply(issue);
+            if (value == null) {
+                VarInts.writeVarLong(column, 0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                VarInts.writeVarLong(column, bytes.length + 1L);
+                column.write(bytes, 0, bytes.length);
+            }
+        }
+        return column;
+    }
+
+    private static ByteArrayOutputStream statuses(List<Issue> issues) {
+        ByteArrayOutputStream column = new ByteArrayOutputStream(issues.size());
+        for (Issue issue : issues) {
+            column.write(issue.getStatus() == null ? 0 : issue.getStatus().ordinal() + 1);
+        }
+        return column;
+    }
+
+    private static ByteArrayOutputStream timestamps(List<Issue> issues, Function<Issue, LocalDateTime> getter) {
+        ByteArrayOutputStream column = new ByteArrayOutputStream(issues.size() * 4);
+        long previous = 0;
+        for (Issue issue : issues) {
+            LocalDateTime value = getter.apply(issue);
+            if (value == null) {
+                VarInts.writeVarLong(column, 0);
+                continue;
+            }
+            long seconds = value.toEpochSecond(ZoneOffset.UTC);
+            VarInts.writeVarLong(column, VarInts.zigZag(seconds - previous) + 1);
+            VarInts.writeVarLong(column, value.getNano());
+            previous = seconds;
+        }
+        return column;
+    }
+}
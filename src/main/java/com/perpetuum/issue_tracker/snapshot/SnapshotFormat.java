@@ -0,0 +1,48 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+import com.perpetuum.issue_tracker.io.VarInts;
+
+/**
+ * Constants and low-level decoding helpers shared by the snapshot writer and reader.
+ *
+ * Layout (version 1):
+ * <pre>
+ *   magic "ITSN" | version byte | status dictionary
+ *   block*        (varint rowCount > 0, then six deflated columns)
+ *   varint 0      (end marker) | long totalRows | int CRC32 of everything before it
+ * </pre>
+ * Each column is stored as: varint rawLength | varint compressedLength | deflated bytes.
+ * Strings are varint(length + 1) followed by UTF-8 bytes, 0 meaning null.
+ * Statuses are one byte per row: dictionary index + 1, 0 meaning null.
+ * Timestamps are zig-zag varint deltas of epoch seconds (+1, 0 meaning null)
+ * followed by a varint nano-of-second.
+ */
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = {'I', 'T', 'S', 'N'};
+    static final int VERSION = 1;
+
+    /** Upper bound on rows per block; corrupted counts beyond it are rejected before allocating. */
+    static final int MAX_BLOCK_ROWS = 1 << 20;
+    /** Upper bound on the raw and compressed size of one column. */
+    static final int MAX_COLUMN_BYTES = 1 << 28;
+    /** Largest expansion deflate can produce (about 1032:1), used to bound raw column sizes. */
+    static final int MAX_DEFLATE_RATIO = 1032;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * Read a varint ({@link VarInts}), reporting a malformed one as a corrupted snapshot.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        try {
+            return VarInts.readVarLong(in);
+        } catch (VarInts.MalformedVarIntException e) {
+            throw new SnapshotFormatException("Malformed varint in snapshot");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+/**
+ * Thrown when a snapshot file is truncated, corrupted or of an unsupported version.
+ */
+public class SnapshotFormatException extends RuntimeException {
+    public SnapshotFormatException(String message) {
+        super(message);
+    }
+}
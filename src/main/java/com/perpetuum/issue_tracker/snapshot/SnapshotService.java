@@ -0,0 +1,137 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.repository.IssueRepository;
+
+/**
+ * Exports the full issue set into a snapshot file and restores it into a repository.
+ *
+ * Export streams paged reads straight into snapshot blocks; restore hands every
+ * decoded block to {@link IssueRepository#createAll(List)} as one batched write.
+ */
+public class SnapshotService {
+
+    /** Rows per page read on export, and therefore per block and per batched append on restore. */
+    public static final int DEFAULT_BLOCK_SIZE = 5_000;
+
+    private final IssueRepository repository;
+    private final int blockSize;
+
+    public SnapshotService(IssueRepository repository) {
+        this(repository, DEFAULT_BLOCK_SIZE);
+    }
+
+    public SnapshotService(IssueRepository repository, int blockSize) {
+        this.repository = repository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Export every issue into the given file. The snapshot is written to a temporary file
+     * next to it and moved into place only when complete, so a failed export never
+     * replaces an existing snapshot.
+     *
+     * @return number of exported issues
+     */
+    public long export(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+        try {
+            long exported;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                exported = export(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return exported;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Export every issue into the given stream. The stream is closed afterwards.
+     * If reading the repository fails, the stream ends without a trailer, so the
+     * partial snapshot is rejected as truncated on restore.
+     *
+     * @return number of exported issues
+     */
+    public long export(OutputStream out) throws IOException {
+        try (IssueSnapshotWriter writer = new IssueSnapshotWriter(out)) {
+            try {
+                repository.scanAll(blockSize, page -> {
+                    try {
+                        writer.writeBlock(page);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish(); // only reached if every page was written
+            return writer.getTotalRows();
+        }
+    }
+
+    /**
+     * Restore all issues from the given file. Issues are appended as they are,
+     * so the target repository is expected to be empty.
+     * The file is verified in full first, so a corrupted snapshot writes nothing.
+     *
+     * @return number of restored issues
+     */
+    public long restore(Path file) throws IOException {
+        verify(file);
+        try (InputStream in = Files.newInputStream(file)) {
+            return restore(in);
+        }
+    }
+
+    /**
+     * Decode the whole file and check its checksum without writing anything.
+     *
+     * @return number of issues in the snapshot
+     * @throws SnapshotFormatException if the file is corrupted
+     */
+    public long verify(Path file) throws IOException {
+        long count = 0;
+        try (IssueSnapshotReader reader = new IssueSnapshotReader(Files.newInputStream(file))) {
+            List<Issue> block;
+            while ((block = reader.readBlock()) != null) {
+                count += block.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Restore all issues from the given stream. The stream is closed afterwards.
+     *
+     * @return number of restored issues
+     */
+    public long restore(InputStream in) throws IOException {
+        long restored = 0;
+        try (IssueSnapshotReader reader = new IssueSnapshotReader(in)) {
+            List<Issue> block;
+            while ((block = reader.readBlock()) != null) {
+                repository.createAll(block);
+                restored += block.size();
+            }
+        }
+        return restored;
+    }
+}
@@ -0,0 +1,129 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.perpetuum.issue_tracker.index.IssueIdIndex;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.repository.IssueRepository;
+import com.perpetuum.issue_tracker.service.IssueService;
+
+/**
+ * RecordingIssueService
+ *
+ * An {@link IssueService} that appends every call to a workload trace, for later
+ * replay with {@link WorkloadReplayer}.
+ *
+ * Responsibilities:
+ * - Records operation, arguments, start time, latency and failure of each call,
+ *   including calls rejected by validation (they are part of the offered load).
+ * - Records the ID of every created issue, so replay can map it to the new ID.
+ * - Never fails a call because of the trace: write errors are logged and the call's
+ *   own result (or exception) is passed through.
+ *
+ * Explaining a query does not touch the repository and is not recorded.
+ */
+public class RecordingIssueService extends IssueService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingIssueService.class);
+
+    private final TraceWriter trace;
+
+    /**
+     * @param trace shared writer of the trace (one per process; it is not closed by this service)
+     */
+    public RecordingIssueService(IssueRepository repository, IssueIdIndex idIndex, TraceWriter trace) {
+        super(repository, idIndex);
+        this.trace = trace;
+    }
+
+    @Override
+    public Issue createIssue(String description, String parentId) {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        Issue created = null;
+        try {
+            created = super.createIssue(description, parentId);
+            return created;
+        } finally {
+            record(TraceEvent.Operation.CREATE, startedAt, start, created == null,
+                    description, parentId, created == null ? null : created.getId());
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String issueId, String status) {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        boolean failed = true;
+        try {
+            boolean updated = super.updateStatus(issueId, status);
+            failed = false;
+            return updated;
+        } finally {
+            record(TraceEvent.Operation.UPDATE_STATUS, startedAt, start, failed, issueId, status);
+        }
+    }
+
+    @Override
+    public List<Issue> listByStatus(String status) {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        boolean failed = true;
+        try {
+            List<Issue> issues = super.listByStatus(status);
+            failed = false;
+            return issues;
+        } finally {
+            record(TraceEvent.Operation.LIST_BY_STATUS, startedAt, start, failed, status);
+        }
+    }
+
+    @Override
+    public List<Issue> listByQuery(IssueQuery query) {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        boolean failed = true;
+        try {
+            List<Issue> issues = super.listByQuery(query);
+            failed = false;
+            return issues;
+        } finally {
+            record(TraceEvent.Operation.LIST_BY_QUERY, startedAt, start, failed,
+                    TraceFormat.encodeQuery(query).toArray(String[]::new));
+        }
+    }
+
+    @Override
+    public Optional<Issue> getIssue(String issueId) {
+        long start = System.nanoTime();
+        Instant startedAt = Instant.now();
+        boolean failed = true;
+        try {
+            Optional<Issue> issue = super.getIssue(issueId);
+            failed = false;
+            return issue;
+        } finally {
+            record(TraceEvent.Operation.GET, startedAt, start, failed, issueId);
+        }
+    }
+
+    private void record(TraceEvent.Operation operation, Instant startedAt, long startNanos, boolean failed,
+                        String... args) {
+        long latencyMicros = (System.nanoTime() - startNanos) / 1_000;
+        long timestampMicros = ChronoUnit.MICROS.between(Instant.EPOCH, startedAt);
+        try {
+            trace.write(new TraceEvent(timestampMicros, operation, Arrays.asList(args), latencyMicros, failed));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to record {} call in workload trace", operation, e);
+        }
+    }
+}
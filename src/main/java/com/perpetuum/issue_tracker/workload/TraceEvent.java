@@ -0,0 +1,41 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * TraceEvent
+ *
+ * One recorded IssueService call:
+ * - timestampMicros: wall-clock start of the call (epoch microseconds)
+ * - operation: which service method was called
+ * - args: its arguments as strings (null allowed); see {@link Operation} for the layout
+ * - latencyMicros: how long the call took
+ * - failed: whether the call threw
+ */
+@Value
+public class TraceEvent {
+
+    /**
+     * Recorded service operations and their argument layout.
+     */
+    public enum Operation {
+        /** description, parentId, ID of the created issue (null if the call failed) */
+        CREATE,
+        /** issueId, status */
+        UPDATE_STATUS,
+        /** status */
+        LIST_BY_STATUS,
+        /** one "name=value" string per set filter, see {@link TraceFormat#encodeQuery} */
+        LIST_BY_QUERY,
+        /** issueId */
+        GET
+    }
+
+    long timestampMicros;
+    Operation operation;
+    List<String> args;
+    long latencyMicros;
+    boolean failed;
+}
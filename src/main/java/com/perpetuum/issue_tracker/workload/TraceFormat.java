@@ -0,0 +1,131 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.perpetuum.issue_tracker.io.VarInts;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+
+/**
+ * Constants and encoding helpers shared by the trace writer and reader.
+ *
+ * Layout (version 1):
+ * <pre>
+ *   magic "ITWL" | version byte
+ *   record*  varint operation | varint timestampMicros | varint latencyMicros
+ *            | byte failed | varint argCount | string*
+ * </pre>
+ * Strings are varint(length + 1) followed by UTF-8 bytes, 0 meaning null.
+ * Records are self-contained, so several processes can append to one trace.
+ */
+final class TraceFormat {
+
+    static final byte[] MAGIC = {'I', 'T', 'W', 'L'};
+    static final int VERSION = 1;
+
+    private TraceFormat() {
+    }
+
+    /**
+     * Encode one record (without header).
+     */
+    static byte[] encode(TraceEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        VarInts.writeVarLong(out, event.getOperation().ordinal());
+        VarInts.writeVarLong(out, event.getTimestampMicros());
+        VarInts.writeVarLong(out, event.getLatencyMicros());
+        out.write(event.isFailed() ? 1 : 0);
+        VarInts.writeVarLong(out, event.getArgs().size());
+        for (String arg : event.getArgs()) {
+            if (arg == null) {
+                VarInts.writeVarLong(out, 0);
+            } else {
+                byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+                VarInts.writeVarLong(out, bytes.length + 1L);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode one record written by {@link #encode(TraceEvent)}.
+     */
+    static TraceEvent decode(DataInput in) throws IOException {
+        int operation = (int) VarInts.readVarLong(in);
+        TraceEvent.Operation[] operations = TraceEvent.Operation.values();
+        if (operation >= operations.length) {
+            throw new IOException("Unknown trace operation " + operation);
+        }
+        long timestamp = VarInts.readVarLong(in);
+        long latency = VarInts.readVarLong(in);
+        boolean failed = in.readByte() != 0;
+        int argCount = (int) VarInts.readVarLong(in);
+        List<String> args = new ArrayList<>(argCount);
+        for (int i = 0; i < argCount; i++) {
+            long length = VarInts.readVarLong(in);
+            if (length == 0) {
+                args.add(null);
+            } else {
+                byte[] bytes = new byte[(int) (length - 1)];
+                in.readFully(bytes);
+                args.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        return new TraceEvent(timestamp, operations[operation], args, latency, failed);
+    }
+
+    /**
+     * Encode the set filters of a query as "name=value" strings.
+     */
+    static List<String> encodeQuery(IssueQuery query) {
+        List<String> args = new ArrayList<>();
+        if (!query.getStatuses().isEmpty()) {
+            args.add("status=" + query.getStatuses().stream().map(Status::name).collect(Collectors.joining(",")));
+        }
+        addIfSet(args, "parent", query.getParentId());
+        addIfSet(args, "prefix", query.getDescriptionPrefix());
+        addIfSet(args, "createdAfter", query.getCreatedAfter());
+        addIfSet(args, "createdBefore", query.getCreatedBefore());
+        addIfSet(args, "updatedAfter", query.getUpdatedAfter());
+        addIfSet(args, "updatedBefore", query.getUpdatedBefore());
+        return args;
+    }
+
+    /**
+     * Rebuild a query from {@link #encodeQuery(IssueQuery)} output.
+     */
+    static IssueQuery decodeQuery(List<String> args) {
+        IssueQuery.IssueQueryBuilder query = IssueQuery.builder();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "status" -> Arrays.stream(value.split(",")).map(Status::fromString).forEach(query::status);
+                case "parent" -> query.parentId(value);
+                case "prefix" -> query.descriptionPrefix(value);
+                case "createdAfter" -> query.createdAfter(LocalDateTime.parse(value));
+                case "createdBefore" -> query.createdBefore(LocalDateTime.parse(value));
+                case "updatedAfter" -> query.updatedAfter(LocalDateTime.parse(value));
+                case "updatedBefore" -> query.updatedBefore(LocalDateTime.parse(value));
+                default -> throw new IllegalArgumentException("Unknown query filter in trace: " + name);
+            }
+        }
+        return query.build();
+    }
+
+    private static void addIfSet(List<String> args, String name, Object value) {
+        if (value != null) {
+            args.add(name + "=" + value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TraceReader
+ *
+ * Reads a trace written by {@link TraceWriter}.
+ *
+ * A record cut short at the end of the file (e.g. a recording process that was killed)
+ * is dropped with a warning; everything before it is kept. Events are returned in
+ * start-time order, since calls are appended when they finish.
+ */
+public final class TraceReader {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceReader.class);
+
+    private TraceReader() {
+    }
+
+    /**
+     * @return all complete events of the trace, ordered by timestamp
+     * @throws IOException if the file is not a trace or of an unsupported version
+     */
+    public static List<TraceEvent> readAll(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readAll(in);
+        }
+    }
+
+    static List<TraceEvent> readAll(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        byte[] magic = new byte[TraceFormat.MAGIC.length];
+        try {
+            in.readFully(magic);
+        } catch (EOFException e) {
+            throw new IOException("Not a workload trace file");
+        }
+        if (!Arrays.equals(magic, TraceFormat.MAGIC)) {
+            throw new IOException("Not a workload trace file");
+        }
+        int version = in.read();
+        if (version != TraceFormat.VERSION) {
+            throw new IOException("Unsupported trace version: " + version);
+        }
+
+        List<TraceEvent> events = new ArrayList<>();
+        while (true) {
+            in.mark(1);
+            if (in.read() < 0) {
+                break;
+            }
+            in.reset();
+            try {
+                events.add(TraceFormat.decode(in));
+            } catch (EOFException e) {
+                log.warn("Trace ends with a truncated record after {} events; ignoring it", events.size());
+                break;
+            }
+        }
+        events.sort(Comparator.comparingLong(TraceEvent::getTimestampMicros));
+        return events;
+    }
+}
@@ -0,0 +1,59 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * TraceWriter
+ *
+ * Appends {@link TraceEvent}s to a trace file in the format described in {@link TraceFormat}.
+ *
+ * Responsibilities:
+ * - Writes the header only when the file is new, so a trace grows across CLI runs.
+ * - Writes every record with one locked append, so concurrent threads and processes
+ *   (e.g. several CLI jobs recording into the same file) never interleave records.
+ */
+public class TraceWriter implements Closeable {
+
+    private final FileChannel channel;
+
+    public TraceWriter(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Append one event.
+     */
+    public synchronized void write(TraceEvent event) throws IOException {
+        byte[] record = TraceFormat.encode(event);
+        try (FileLock ignored = channel.lock()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(record.length + TraceFormat.MAGIC.length + 1);
+            if (channel.size() == 0) {
+                out.write(TraceFormat.MAGIC);
+                out.write(TraceFormat.VERSION);
+            }
+            out.write(record);
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,293 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.perpetuum.issue_tracker.metrics.LatencyRecorder;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.service.IssueService;
+
+/**
+ * WorkloadReplayer
+ *
+ * Re-runs a recorded workload trace against an {@link IssueService}, and through it
+ * against whatever {@link com.perpetuum.issue_tracker.repository.IssueRepository} backs it.
+ *
+ * Responsibilities:
+ * - Issues every event at its recorded offset from the first one, divided by the speed
+ *   factor ({@link #MAX_SPEED} issues them back to back).
+ * - Runs the calls on a fixed pool of {@code concurrency} threads; when the pool cannot
+ *   keep up, the delay behind schedule is reported as lag.
+ * - Maps recorded issue IDs to the IDs created during the replay, so updates, gets and
+ *   parent filters hit the replayed issues. A call that refers to an issue created in
+ *   the trace waits for that create to finish (the wait counts as lag, not latency); if
+ *   the create failed, the recorded ID is used. IDs that were not created in the trace
+ *   (e.g. seeded issues) are used as recorded.
+ * - Reports throughput, latency percentiles overall and per operation, errors, and
+ *   updates and gets that found no issue.
+ *
+ * Recorded date filters are replayed as recorded, so they select by the original timestamps.
+ */
+public class WorkloadReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadReplayer.class);
+
+    /** Speed factor that ignores recorded timing and issues events as fast as possible. */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private final IssueService service;
+    private final double speed;
+    private final int concurrency;
+    /** Replayed ID per recorded created ID, registered when the create is dispatched. */
+    private final Map<String, CompletableFuture<String>> replayedIds = new ConcurrentHashMap<>();
+
+    /**
+     * @param speed time scaling of the recorded schedule (1 = real time, 10 = ten times faster,
+     *              {@link #MAX_SPEED} = no waiting)
+     * @param concurrency number of calls that may run at the same time
+     */
+    public WorkloadReplayer(IssueService service, double speed, int concurrency) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Replay speed must be positive: " + speed);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Replay concurrency must be at least 1: " + concurrency);
+        }
+        this.service = service;
+        this.speed = speed;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Replay the events (in timestamp order, as returned by {@link TraceReader}) and wait
+     * for all of them to finish.
+     */
+    public ReplayReport replay(List<TraceEvent> events) throws InterruptedException {
+        ReplayReport report = new ReplayReport(speed, concurrency);
+        if (events.isEmpty()) {
+            return report;
+        }
+
+        boolean timed = speed != MAX_SPEED;
+        long firstTimestamp = events.get(0).getTimestampMicros();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            for (TraceEvent event : events) {
+                long due = start + (timed ? (long) ((event.getTimestampMicros() - firstTimestamp) * 1_000 / speed) : 0);
+                if (timed) {
+                    waitUntil(due);
+                }
+                if (event.getOperation() == TraceEvent.Operation.CREATE && event.getArgs().get(2) != null) {
+                    replayedIds.put(event.getArgs().get(2), new CompletableFuture<>());
+                }
+                // Creates are dequeued before anything that waits for them, so waiting tasks
+                // cannot hold every thread while their creates sit in the queue
+                pool.execute(() -> {
+                    awaitReferencedCreates(event);
+                    long begin = System.nanoTime();
+                    if (timed) {
+                        report.lag.record(Math.max(0, begin - due));
+                    }
+                    Outcome outcome = execute(event);
+                    report.record(event, System.nanoTime() - begin, outcome);
+                });
+            }
+        } finally {
+            pool.shutdown();
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Replay still running: {} of {} operations done", report.latency.count(), events.size());
+            }
+        }
+        report.elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /** Result of one replayed call. */
+    private enum Outcome { OK, NOT_FOUND, FAILED }
+
+    private Outcome execute(TraceEvent event) {
+        List<String> args = event.getArgs();
+        CompletableFuture<String> replayed = event.getOperation() == TraceEvent.Operation.CREATE && args.get(2) != null
+                ? replayedIds.get(args.get(2))
+                : null;
+        try {
+            return switch (event.getOperation()) {
+                case CREATE -> {
+                    Issue created = service.createIssue(args.get(0), replayedId(args.get(1)));
+                    if (replayed != null) {
+                        replayed.complete(created.getId());
+                    }
+                    yield Outcome.OK;
+                }
+                case UPDATE_STATUS -> service.updateStatus(replayedId(args.get(0)), args.get(1))
+                        ? Outcome.OK
+                        : Outcome.NOT_FOUND;
+                case LIST_BY_STATUS -> {
+                    service.listByStatus(args.get(0));
+                    yield Outcome.OK;
+                }
+                case LIST_BY_QUERY -> {
+                    service.listByQuery(TraceFormat.decodeQuery(replayedQueryArgs(args)));
+                    yield Outcome.OK;
+                }
+                case GET -> service.getIssue(replayedId(args.get(0))).isPresent() ? Outcome.OK : Outcome.NOT_FOUND;
+            };
+        } catch (RuntimeException e) {
+            log.debug("Replayed {} failed: {}", event.getOperation(), e.getMessage());
+            return Outcome.FAILED;
+        } finally {
+            if (replayed != null) {
+                replayed.complete(args.get(2)); // no-op unless the create failed
+            }
+        }
+    }
+
+    /** Blocks until every issue the event refers to that is created in the trace has been created. */
+    private void awaitReferencedCreates(TraceEvent event) {
+        List<String> args = event.getArgs();
+        switch (event.getOperation()) {
+            case CREATE -> replayedId(args.get(1));
+            case UPDATE_STATUS, GET -> replayedId(args.get(0));
+            case LIST_BY_QUERY -> replayedQueryArgs(args);
+            case LIST_BY_STATUS -> { }
+        }
+    }
+
+    private String replayedId(String recordedId) {
+        CompletableFuture<String> replayed = recordedId == null ? null : replayedIds.get(recordedId);
+        return replayed == null ? recordedId : replayed.join();
+    }
+
+    private List<String> replayedQueryArgs(List<String> args) {
+        List<String> mapped = new ArrayList<>(args.size());
+        for (String arg : args) {
+            mapped.add(arg.startsWith("parent=") ? "parent=" + replayedId(arg.substring("parent=".length())) : arg);
+        }
+        return mapped;
+    }
+
+    private static void waitUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Replay interrupted");
+            }
+        }
+    }
+
+    /**
+     * Outcome of a replay: throughput and latency overall and per operation, errors,
+     * and (for timed replays) how far calls started behind their schedule.
+     */
+    public static class ReplayReport {
+
+        private final double speed;
+        private final int concurrency;
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final LatencyRecorder lag = new LatencyRecorder();
+        private final Map<TraceEvent.Operation, LatencyRecorder> byOperation = new EnumMap<>(TraceEvent.Operation.class);
+        private final Map<TraceEvent.Operation, AtomicLong> errors = new EnumMap<>(TraceEvent.Operation.class);
+        private final Map<TraceEvent.Operation, AtomicLong> notFound = new EnumMap<>(TraceEvent.Operation.class);
+        private final AtomicLong recordedFailures = new AtomicLong();
+        private Duration elapsed = Duration.ZERO;
+
+        ReplayReport(double speed, int concurrency) {
+            this.speed = speed;
+            this.concurrency = concurrency;
+            for (TraceEvent.Operation operation : TraceEvent.Operation.values()) {
+                byOperation.put(operation, new LatencyRecorder());
+                errors.put(operation, new AtomicLong());
+                notFound.put(operation, new AtomicLong());
+            }
+        }
+
+        private void record(TraceEvent event, long nanos, Outcome outcome) {
+            latency.record(nanos);
+            byOperation.get(event.getOperation()).record(nanos);
+            if (outcome == Outcome.FAILED) {
+                errors.get(event.getOperation()).incrementAndGet();
+            } else if (outcome == Outcome.NOT_FOUND) {
+                notFound.get(event.getOperation()).incrementAndGet();
+            }
+            if (event.isFailed()) {
+                recordedFailures.incrementAndGet();
+            }
+        }
+
+        /** @return number of replayed operations */
+        public int getOperations() {
+            return latency.count();
+        }
+
+        /** @return number of replayed operations that threw */
+        public long getErrors() {
+            return errors.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        /** @return number of replayed updates and gets that found no issue */
+        public long getNotFound() {
+            return notFound.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        /** @return number of operations that had already failed when recorded */
+        public long getRecordedFailures() {
+            return recordedFailures.get();
+        }
+
+        /** @return wall-clock duration of the replay */
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        /** @return latency percentile over all operations */
+        public Duration percentile(double percentile) {
+            return latency.percentile(percentile);
+        }
+
+        /**
+         * @return a multi-line, human-readable report
+         */
+        public String format() {
+            StringBuilder text = new StringBuilder()
+                    .append(String.format("Replay at %s, concurrency %d: %d errors (%d failed when recorded), %d not found%n",
+                            speed == MAX_SPEED ? "max speed" : String.format("%sx", trim(speed)),
+                            concurrency, getErrors(), getRecordedFailures(), getNotFound()))
+                    .append("  all            ").append(latency.summary(elapsed)).append(System.lineSeparator());
+            byOperation.forEach((operation, recorder) -> {
+                if (recorder.count() > 0) {
+                    text.append(String.format("  %-14s %d ops, %d errors, %d not found, p50=%.2f ms, p99=%.2f ms%n",
+                            operation, recorder.count(), errors.get(operation).get(), notFound.get(operation).get(),
+                            millis(recorder.percentile(50)), millis(recorder.percentile(99))));
+                }
+            });
+            if (lag.count() > 0) {
+                text.append(String.format("  behind schedule p50=%.2f ms, p99=%.2f ms, max=%.2f ms%n",
+                        millis(lag.percentile(50)), millis(lag.percentile(99)), millis(lag.percentile(100))));
+            }
+            return text.toString();
+        }
+
+        private static String trim(double value) {
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+}
@@ -2,17 +2,24 @@ package com.perpetuum.issue_tracker;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
 import com.perpetuum.issue_tracker.infrastructure.GoogleSheetsFacade;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 /**
  * Functional tests for the CLI.
@@ -28,6 +35,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
         properties = "spring.main.web-application-type=none")
 class IssueTrackerApplicationFunctionalTest {
 
+    @TempDir
+    static Path indexDir;
+
+    /** Keep the issue ID index out of the working directory. */
+    @DynamicPropertySource
+    static void indexFile(DynamicPropertyRegistry registry) {
+        registry.add("issue-tracker.id-index.file", () -> indexDir.resolve("issue-ids.bloom").toString());
+    }
+
     @MockBean
     private GoogleSheetsFacade googleSheetsFacade; // <- mock replaces real bean
 
@@ -46,6 +62,13 @@ class IssueTrackerApplicationFunctionalTest {
     void setupMocks() throws Exception {
         // Stub basic behavior so CLI can run without NullPointerExceptions
         when(googleSheetsFacade.readAll()).thenReturn(java.util.Collections.emptyList());
+        // Projected column reads of an empty sheet (ID index rebuilds, lookups, prefilters):
+        // one empty list per requested column
+        when(googleSheetsFacade.readColumns(anyInt(), any(String[].class)))
+                .thenAnswer(invocation -> emptyColumns(invocation.getArguments().length - 1));
+        // Fresh column reads locating issues for status updates
+        when(googleSheetsFacade.readColumnsFresh(anyInt(), any(String[].class)))
+                .thenAnswer(invocation -> emptyColumns(invocation.getArguments().length - 1));
     }
 
     /**
@@ -86,4 +109,8 @@ class IssueTrackerApplicationFunctionalTest {
         cliRunner.run("list", "--status", "CLOSED");
         assertTrue(out.toString().contains("No issues found"));
     }
+
+    private static List<List<Object>> emptyColumns(int count) {
+        return java.util.Collections.nCopies(count, List.of());
+    }
 }
@@ -0,0 +1,140 @@
+package com.perpetuum.issue_tracker.api;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.perpetuum.issue_tracker.metrics.LatencyRecorder;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.CoalescingIssueRepository;
+import com.perpetuum.issue_tracker.repository.InMemoryIssueRepository;
+import com.perpetuum.issue_tracker.service.IssueService;
+
+/**
+ * Load test for the HTTP API (run with {@code mvn test -Pload-test}).
+ *
+ * The backend is an in-memory stand-in for Google Sheets where every call costs
+ * a simulated round trip, so the report shows what request coalescing and
+ * write batching buy over one backend call per request.
+ */
+class IssueHttpServerLoadTest {
+
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(20);
+    private static final int CLIENTS = 64;
+    private static final int REQUESTS_PER_CLIENT = 200;
+    private static final int SEEDED_ISSUES = 1_000;
+
+    private InMemoryIssueRepository backend;
+    private CoalescingIssueRepository shared;
+    private IssueHttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        backend = new InMemoryIssueRepository(BACKEND_LATENCY);
+        List<Issue> seed = new ArrayList<>();
+        for (int i = 0; i < SEEDED_ISSUES; i++) {
+            seed.add(Issue.builder()
+                    .id("LT-" + i)
+                    .description("Seeded issue " + i)
+                    .status(Status.values()[i % Status.values().length])
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        backend.createAll(seed);
+
+        shared = new CoalescingIssueRepository(backend, 100, Duration.ofMillis(5));
+        server = new IssueHttpServer(new IssueService(shared), 0, CLIENTS);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+        shared.close();
+    }
+
+    /**
+     * Mixed workload: 70% list by status, 10% get by ID, 10% create, 10% status update.
+     * Prints throughput and latency percentiles; fails only on errors or if no
+     * coalescing/batching happened at all.
+     */
+    @Test
+    void mixedWorkload_reportThroughputAndLatency() throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(CLIENTS)).build();
+        String base = "http://localhost:" + server.getPort() + "/issues";
+        LatencyRecorder latencies = new LatencyRecorder();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            running.add(clients.submit(() -> {
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    HttpRequest request = nextRequest(base);
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() >= 300) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies.record(System.nanoTime() - sent);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        clients.shutdown();
+
+        System.out.println("HTTP API load test: " + latencies.summary(elapsed));
+        System.out.printf("Backend calls: %d (coalesced reads: %d, write batches: %d)%n",
+                backend.getCallCount(), shared.getCoalescedReadCount(), shared.getWriteBatchCount());
+
+        assertEquals(0, failures.get());
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, latencies.count());
+        assertTrue(backend.getCallCount() < latencies.count(), "Expected fewer backend calls than requests");
+    }
+
+    private static HttpRequest nextRequest(String base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(10);
+        String id = "LT-" + random.nextInt(SEEDED_ISSUES);
+        if (pick < 7) {
+            Status status = Status.values()[random.nextInt(Status.values().length)];
+            return HttpRequest.newBuilder(URI.create(base + "?status=" + status)).GET().build();
+        } else if (pick == 7) {
+            return HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build();
+        } else if (pick == 8) {
+            return HttpRequest.newBuilder(URI.create(base))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"description\":\"Load test issue\"}"))
+                    .build();
+        }
+        Status status = Status.values()[random.nextInt(Status.values().length)];
+        return HttpRequest.newBuilder(URI.create(base + "/" + id + "/status"))
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.perpetuum.issue_tracker.index;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.InMemoryIssueRepository;
+
+class IssueIdIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private InMemoryIssueRepository repository;
+    private Path file;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryIssueRepository();
+        file = dir.resolve("ids.bloom");
+        for (int i = 0; i < 100; i++) {
+            repository.create(issue("AD-" + i));
+        }
+    }
+
+    /**
+     * Positive test:
+     * The first use builds the filter from the repository; a new index over the
+     * same file loads it (including later additions) without reading any IDs.
+     */
+    @Test
+    void add_shouldPersistAcrossInstances() {
+        IssueIdIndex first = new IssueIdIndex(repository, file, 0.01);
+        assertTrue(first.mightContain("AD-42"));
+        repository.create(issue("AD-NEW"));
+        first.add("AD-NEW");
+        first.close();
+
+        long callsBefore = repository.getCallCount();
+        IssueIdIndex second = new IssueIdIndex(repository, file, 0.01);
+
+        assertTrue(second.mightContain("AD-NEW"));
+        assertTrue(second.mightContain("AD-0"));
+        assertEquals(callsBefore, repository.getCallCount(), "Loading must not read the repository");
+    }
+
+    /**
+     * Edge case:
+     * Two processes sharing the file merge their additions instead of overwriting
+     * each other's, and additions within the save interval are written on close.
+     */
+    @Test
+    void add_shouldMergeWithConcurrentWriters() throws Exception {
+        new IssueIdIndex(repository, file, 0.01).rebuild();
+        IssueIdIndex first = new IssueIdIndex(repository, file, 0.01);
+        IssueIdIndex second = new IssueIdIndex(repository, file, 0.01);
+        assertTrue(first.mightContain("AD-1"));
+        assertTrue(second.mightContain("AD-1"));
+
+        first.add("AD-FIRST");   // saved right away: nothing saved by this instance yet
+        second.add("AD-SECOND"); // merged into the file written by the first
+        byte[] saved = Files.readAllBytes(file);
+        first.add("AD-LATER");   // within the save interval: kept until close
+        assertArrayEquals(saved, Files.readAllBytes(file));
+        first.close();
+
+        IssueIdIndex reloaded = new IssueIdIndex(repository, file, 0.01);
+        assertTrue(reloaded.mightContain("AD-FIRST"));
+        assertTrue(reloaded.mightContain("AD-SECOND"));
+        assertTrue(reloaded.mightContain("AD-LATER"));
+    }
+
+    /**
+     * Edge case:
+     * A file built for another spreadsheet is not trusted: the index is rebuilt from the
+     * current repository, so IDs that only exist in the other spreadsheet are unknown.
+     */
+    @Test
+    void load_shouldRebuildFileOfAnotherSpreadsheet() {
+        IssueIdIndex previous = new IssueIdIndex(repository, file, "sheet-a", 0.01);
+        previous.add("AD-ONLY-IN-A");
+        previous.close();
+
+        InMemoryIssueRepository other = new InMemoryIssueRepository();
+        other.create(issue("AD-B"));
+        IssueIdIndex switched = new IssueIdIndex(other, file, "sheet-b", 0.01);
+
+        assertTrue(switched.mightContain("AD-B"));
+        assertFalse(switched.mightContain("AD-ONLY-IN-A"));
+        assertTrue(other.getCallCount() > 1, "The filter should have been rebuilt from the repository");
+    }
+
+    /**
+     * Edge case:
+     * A corrupted file is ignored and the filter is rebuilt from the repository.
+     */
+    @Test
+    void corruptFile_shouldBeRebuilt() throws Exception {
+        new IssueIdIndex(repository, file, 0.01).add("AD-1");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        IssueIdIndex reloaded = new IssueIdIndex(repository, file, 0.01);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(reloaded.mightContain("AD-" + i));
+        }
+    }
+
+    /**
+     * Positive test:
+     * Unknown IDs are rejected at roughly the configured false-positive rate.
+     */
+    @Test
+    void unknownIds_shouldRarelyMatch() {
+        IssueIdIndex index = new IssueIdIndex(repository, null, 0.01);
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (index.mightContain("XX-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertFalse(falsePositives > 300, "Too many false positives: " + falsePositives);
+    }
+
+    private static Issue issue(String id) {
+        return Issue.builder()
+                .id(id)
+                .description("Issue " + id)
+                .status(Status.OPEN)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
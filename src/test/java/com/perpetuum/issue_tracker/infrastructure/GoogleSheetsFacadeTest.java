@@ -0,0 +1,137 @@
+package com.perpetuum.issue_tracker.infrastructure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.api.services.sheets.v4.Sheets;
+import com.google.api.services.sheets.v4.model.BatchGetValuesResponse;
+import com.google.api.services.sheets.v4.model.Sheet;
+import com.google.api.services.sheets.v4.model.SheetProperties;
+import com.google.api.services.sheets.v4.model.Spreadsheet;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+class GoogleSheetsFacadeTest {
+
+    private static final String SPREADSHEET_ID = "spreadsheet";
+    private static final String ALL_ROWS = "Issues!A:F";
+
+    private Sheets sheets;
+    private GoogleSheetsFacade facade;
+
+    /**
+     * Stubs a Sheets client with one sheet ("Issues") whose full-range read
+     * takes a while, so concurrent reads overlap.
+     */
+    @BeforeEach
+    void setup() throws Exception {
+        sheets = mock(Sheets.class, RETURNS_DEEP_STUBS);
+        when(sheets.spreadsheets().get(SPREADSHEET_ID).execute()).thenReturn(new Spreadsheet().setSheets(List.of(
+                new Sheet().setProperties(new SheetProperties().setTitle("Issues").setSheetId(0)))));
+        when(sheets.spreadsheets().values().get(SPREADSHEET_ID, ALL_ROWS).execute()).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return new ValueRange().setValues(List.of(List.of("ID")));
+        });
+        facade = new GoogleSheetsFacade(sheets, SPREADSHEET_ID);
+    }
+
+    /**
+     * Positive test:
+     * Concurrent readAll calls share one request and one result.
+     */
+    @Test
+    void concurrentReadAll_shouldShareOneRequest() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<List<List<Object>>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> facade.readAll()));
+        }
+        List<List<Object>> first = results.get(0).get();
+        for (Future<List<List<Object>>> result : results) {
+            assertSame(first, result.get());
+        }
+        callers.shutdown();
+
+        assertEquals(1, facade.getExecutedReadCount());
+        assertEquals(7, facade.getDedupedReadCount());
+    }
+
+    /**
+     * Positive test:
+     * A read shortly after a completed read reuses it, but a write invalidates it.
+     */
+    @Test
+    void freshnessWindow_shouldReuseReadsUntilAWrite() throws Exception {
+        when(sheets.spreadsheets().values().append(eq(SPREADSHEET_ID), eq(ALL_ROWS), any(ValueRange.class))
+                .setValueInputOption("RAW")
+                .execute()).thenReturn(null);
+        facade.setReadFreshness(Duration.ofMinutes(1));
+
+        facade.readAll();
+        facade.readAll();
+        assertEquals(1, facade.getExecutedReadCount());
+        assertEquals(1, facade.getDedupedReadCount());
+
+        facade.appendRow(List.of("AD-1"));
+        facade.readAll();
+        assertEquals(2, facade.getExecutedReadCount());
+    }
+
+    /**
+     * Positive test:
+     * Scattered rows are fetched with batchGets of bounded size (every range is a URL
+     * parameter), and the rows come back in request order across the requests.
+     */
+    @Test
+    void readRowsAt_shouldSplitManyRangesIntoBoundedBatchGets() throws Exception {
+        Sheets.Spreadsheets.Values.BatchGet batchGet = mock(Sheets.Spreadsheets.Values.BatchGet.class);
+        when(sheets.spreadsheets().values().batchGet(SPREADSHEET_ID)).thenReturn(batchGet);
+        List<List<String>> requests = new ArrayList<>();
+        when(batchGet.setRanges(anyList())).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return batchGet;
+        });
+        when(batchGet.execute()).thenAnswer(invocation -> new BatchGetValuesResponse().setValueRanges(
+                requests.get(requests.size() - 1).stream()
+                        .map(range -> new ValueRange().setValues(List.of(List.of(range))))
+                        .toList()));
+
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            rows.add(2 + 2 * i); // never adjacent, so one range per row
+        }
+        List<List<Object>> result = facade.readRowsAt(rows);
+
+        assertEquals(List.of(100, 100, 50), requests.stream().map(List::size).toList());
+        assertEquals(250, result.size());
+        assertEquals(List.of("Issues!A2:F2"), result.get(0));
+        assertEquals(List.of("Issues!A500:F500"), result.get(249));
+    }
+
+    /**
+     * Edge case:
+     * Without a freshness window, sequential reads are never reused.
+     */
+    @Test
+    void zeroFreshness_shouldNotReuseCompletedReads() throws Exception {
+        facade.readAll();
+        facade.readAll();
+
+        assertEquals(2, facade.getExecutedReadCount());
+        assertEquals(0, facade.getDedupedReadCount());
+    }
+}
@@ -0,0 +1,174 @@
+package com.perpetuum.issue_tracker.infrastructure;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.sheets.v4.model.ValueRange;
+
+/**
+ * Decode-throughput benchmark for Sheets value responses (run with {@code mvn test -Pload-test}).
+ *
+ * Compares parsing into the generated {@link ValueRange} model with
+ * {@link StreamingValuesDecoder}, and streams a generated 1M-row response that never
+ * exists in memory as a whole, to show that the streaming path keeps the heap flat.
+ */
+class StreamingValuesDecoderLoadTest {
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final int COMPARED_ROWS = 200_000;
+    private static final int STREAMED_ROWS = 1_000_000;
+    private static final int ROUNDS = 3;
+    private static final int HEAP_SAMPLE_EVERY = 100_000;
+    /** Live heap growth allowed while streaming: this many rows' worth plus a fixed slack. */
+    private static final long HEAP_ROWS_ALLOWED = 1_000;
+    private static final long HEAP_SLACK_BYTES = 8L << 20;
+
+    /**
+     * Same in-memory body decoded both ways; prints rows/s and MB/s of the best round.
+     */
+    @Test
+    void decodeThroughput_modelVersusStreaming() throws Exception {
+        byte[] body = new GeneratedValuesStream(COMPARED_ROWS).readAllBytes();
+
+        long bestModel = Long.MAX_VALUE;
+        long bestStreaming = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            List<List<Object>> values = JSON_FACTORY
+                    .createJsonParser(new ByteArrayInputStream(body), StandardCharsets.UTF_8)
+                    .parseAndClose(ValueRange.class)
+                    .getValues();
+            bestModel = Math.min(bestModel, System.nanoTime() - start);
+            assertEquals(COMPARED_ROWS + 1, values.size());
+
+            start = System.nanoTime();
+            long rows = StreamingValuesDecoder.decode(new ByteArrayInputStream(body), row -> { });
+            bestStreaming = Math.min(bestStreaming, System.nanoTime() - start);
+            assertEquals(COMPARED_ROWS + 1, rows);
+        }
+
+        System.out.printf("ValueRange model: %s%n", throughput(COMPARED_ROWS, body.length, bestModel));
+        System.out.printf("Streaming decode: %s%n", throughput(COMPARED_ROWS, body.length, bestStreaming));
+    }
+
+    /**
+     * A 1M-row response streamed straight from a generator (the response is never held in
+     * memory). The live heap is sampled after a GC every {@value #HEAP_SAMPLE_EVERY} rows and
+     * must stay within a few rows' worth of the starting point plus a fixed slack, whatever
+     * the response size.
+     */
+    @Test
+    void streamingDecode_shouldKeepHeapFlatForMillionRows() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long[] peak = {heapBefore};
+        long[] seen = {0};
+        long[] gcNanos = {0};
+
+        GeneratedValuesStream response = new GeneratedValuesStream(STREAMED_ROWS);
+        long start = System.nanoTime();
+        long rows = StreamingValuesDecoder.decode(response, row -> {
+            if (++seen[0] % HEAP_SAMPLE_EVERY == 0) {
+                long gcStart = System.nanoTime();
+                System.gc(); // count live objects only, not garbage awaiting collection
+                gcNanos[0] += System.nanoTime() - gcStart;
+                peak[0] = Math.max(peak[0], memory.getHeapMemoryUsage().getUsed());
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+
+        long growth = Math.max(0, peak[0] - heapBefore);
+        long rowBytes = response.bytesProduced() / (STREAMED_ROWS + 2);
+        long bound = HEAP_ROWS_ALLOWED * rowBytes + HEAP_SLACK_BYTES;
+        System.out.printf("Streaming 1M rows: %s, response %d MB, live heap growth <= %d KB (bound %d KB)%n",
+                throughput(STREAMED_ROWS, response.bytesProduced(), elapsed - gcNanos[0]),
+                response.bytesProduced() >> 20, growth >> 10, bound >> 10);
+        assertEquals(STREAMED_ROWS + 1, rows);
+        assertTrue(response.bytesProduced() > 100L << 20, "Response should be large enough to matter");
+        assertTrue(growth <= bound, "Live heap grew by " + growth + " bytes, bound " + bound);
+    }
+
+    private static String throughput(long rows, long bytes, long nanos) {
+        double seconds = nanos / 1e9;
+        return String.format("%,.0f rows/s, %.1f MB/s (%d ms)",
+                rows / seconds, bytes / seconds / (1 << 20), nanos / 1_000_000);
+    }
+
+    /**
+     * Produces a ValueRange JSON body of a header plus {@code rows} issue rows on the fly.
+     */
+    private static final class GeneratedValuesStream extends InputStream {
+
+        private final int rows;
+        private int nextRow = -1; // -1 = prefix not yet produced
+        private byte[] chunk = new byte[0];
+        private int position;
+        private long produced;
+        private boolean done;
+
+        GeneratedValuesStream(int rows) {
+            this.rows = rows;
+        }
+
+        long bytesProduced() {
+            return produced;
+        }
+
+        @Override
+        public int read() {
+            if (position == chunk.length && !refill()) {
+                return -1;
+            }
+            return chunk[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == chunk.length && !refill()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean refill() {
+            if (done) {
+                return false;
+            }
+            String text;
+            if (nextRow < 0) {
+                text = "{\"range\":\"Issues!A1:F" + (rows + 1) + "\",\"majorDimension\":\"ROWS\",\"values\":["
+                        + "[\"ID\",\"Description\",\"Parent ID\",\"Status\",\"Created at\",\"Updated at\"]";
+            } else if (nextRow < rows) {
+                text = ",[\"AD-" + nextRow + "\",\"Benchmark issue number " + nextRow
+                        + " with a description of typical length\",\"" + (nextRow % 7 == 0 ? "AD-1" : "")
+                        + "\",\"" + (nextRow % 3 == 0 ? "OPEN" : nextRow % 3 == 1 ? "IN_PROGRESS" : "CLOSED")
+                        + "\",\"2025-03-01T10:15:30.123456789\",\"2025-04-02T08:00:00.5\"]";
+            } else {
+                text = "]}";
+                done = true;
+            }
+            nextRow++;
+            chunk = text.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            produced += chunk.length;
+            return true;
+        }
+    }
+}
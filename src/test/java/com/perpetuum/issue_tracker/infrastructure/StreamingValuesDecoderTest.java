@@ -0,0 +1,57 @@
+package com.perpetuum.issue_tracker.infrastructure;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class StreamingValuesDecoderTest {
+
+    /**
+     * Positive test:
+     * Rows are emitted in order with ragged lengths preserved; unknown fields
+     * (before and after "values") are skipped; numbers keep their text.
+     */
+    @Test
+    void decode_shouldEmitEveryRow() throws Exception {
+        String json = "{\"range\":\"Issues!A1:F3\",\"majorDimension\":\"ROWS\",\"extra\":{\"a\":[1,2]},"
+                + "\"values\":[[\"ID\",\"Description\"],[\"AD-1\",\"Fix \\\"quotes\\\"\",\"\",\"OPEN\"],[\"AD-2\",42,true]],"
+                + "\"trailing\":null}";
+        List<List<Object>> rows = new ArrayList<>();
+
+        long count = decode(json, row -> rows.add(new ArrayList<>(row)));
+
+        assertEquals(3, count);
+        assertEquals(List.of("ID", "Description"), rows.get(0));
+        assertEquals(List.of("AD-1", "Fix \"quotes\"", "", "OPEN"), rows.get(1));
+        assertEquals(List.of("AD-2", "42", Boolean.TRUE), rows.get(2));
+    }
+
+    /**
+     * Edge case:
+     * An empty range has no "values" field at all.
+     */
+    @Test
+    void decode_shouldHandleMissingValues() throws Exception {
+        assertEquals(0, decode("{\"range\":\"Issues!A1:F1\",\"majorDimension\":\"ROWS\"}", row -> { }));
+    }
+
+    /**
+     * Negative test:
+     * A body that is not a ValueRange object is rejected.
+     */
+    @Test
+    void decode_shouldRejectNonObjectBody() {
+        assertThrows(IOException.class, () -> decode("[[\"AD-1\"]]", row -> { }));
+    }
+
+    private static long decode(String json, Consumer<List<Object>> consumer) throws IOException {
+        return StreamingValuesDecoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), consumer);
+    }
+}
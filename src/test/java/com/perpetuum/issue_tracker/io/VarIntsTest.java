@@ -0,0 +1,67 @@
+package com.perpetuum.issue_tracker.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class VarIntsTest {
+
+    private static final long[] VALUES = {0, 1, 127, 128, 300, Integer.MAX_VALUE, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+
+    /**
+     * Positive test:
+     * Both writers produce the same bytes, and every value reads back unchanged.
+     */
+    @Test
+    void readVarLong_shouldReturnWrittenValues() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(streamed);
+        for (long value : VALUES) {
+            VarInts.writeVarLong(buffer, value);
+            VarInts.writeVarLong(data, value);
+        }
+        data.flush();
+        assertArrayEquals(buffer.toByteArray(), streamed.toByteArray());
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        for (long value : VALUES) {
+            assertEquals(value, VarInts.readVarLong(in));
+        }
+    }
+
+    /**
+     * Positive test:
+     * Zig-zag encoding maps small negative values to small unsigned ones and back.
+     */
+    @Test
+    void zigZag_shouldRoundTripSignedValues() {
+        assertEquals(1, VarInts.zigZag(-1));
+        assertEquals(2, VarInts.zigZag(1));
+        for (long value : VALUES) {
+            assertEquals(value, VarInts.unZigZag(VarInts.zigZag(value)));
+        }
+    }
+
+    /**
+     * Negative test:
+     * A varint longer than 64 bits and one cut short are both rejected.
+     */
+    @Test
+    void readVarLong_shouldRejectMalformedInput() {
+        byte[] tooLong = new byte[11];
+        Arrays.fill(tooLong, (byte) 0x80);
+        assertThrows(VarInts.MalformedVarIntException.class,
+                () -> VarInts.readVarLong(new DataInputStream(new ByteArrayInputStream(tooLong))));
+        assertThrows(EOFException.class,
+                () -> VarInts.readVarLong(new DataInputStream(new ByteArrayInputStream(new byte[] {(byte) 0x80}))));
+    }
+}
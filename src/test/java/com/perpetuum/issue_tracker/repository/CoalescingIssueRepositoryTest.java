@@ -0,0 +1,183 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.Status;
+
+class CoalescingIssueRepositoryTest {
+
+    private static final int CALLERS = 16;
+
+    private InMemoryIssueRepository backend;
+    private CoalescingIssueRepository repository;
+    private ExecutorService callers;
+
+    /**
+     * Backend with a noticeable per-call latency, so concurrent callers overlap.
+     */
+    @BeforeEach
+    void setup() {
+        backend = new InMemoryIssueRepository(Duration.ofMillis(50));
+        repository = new CoalescingIssueRepository(backend, 100, Duration.ofMillis(20));
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdown();
+        repository.close();
+    }
+
+    /**
+     * Positive test:
+     * Concurrent creates are written in fewer backend calls than creates,
+     * and every issue ends up stored.
+     */
+    @Test
+    void concurrentCreates_shouldBeBatched() throws Exception {
+        runConcurrently(i -> () -> {
+            repository.create(issue("AD-" + i));
+            return null;
+        });
+
+        assertEquals(CALLERS, backend.size());
+        assertTrue(backend.getCallCount() < CALLERS);
+    }
+
+    /**
+     * Positive test:
+     * Concurrent identical reads share backend calls and all see the same result.
+     */
+    @Test
+    void concurrentIdenticalReads_shouldBeCoalesced() throws Exception {
+        backend.create(issue("AD-1"));
+        long callsBefore = backend.getCallCount();
+
+        List<Object> results = runConcurrently(i -> () -> repository.findByStatus(Status.OPEN));
+
+        results.forEach(result -> assertEquals(1, ((List<?>) result).size()));
+        assertTrue(repository.getCoalescedReadCount() > 0);
+        assertEquals(CALLERS, repository.getCoalescedReadCount() + repository.getBackendReadCount());
+        assertTrue(backend.getCallCount() - callsBefore < CALLERS);
+    }
+
+    /**
+     * Edge case:
+     * Batched status updates report per-caller results, including not-found IDs.
+     */
+    @Test
+    void batchedUpdates_shouldReportPerIssueResult() throws Exception {
+        backend.create(issue("AD-1"));
+
+        List<Object> results = runConcurrently(i -> () ->
+                repository.updateStatus(i == 0 ? "AD-1" : "MISSING-" + i, Status.CLOSED));
+
+        assertTrue((Boolean) results.get(0));
+        results.subList(1, results.size()).forEach(result -> assertFalse((Boolean) result));
+        assertEquals(Status.CLOSED, backend.findById("AD-1").orElseThrow().getStatus());
+    }
+
+    /**
+     * Edge case:
+     * When the backend applies only part of an update batch, only the callers whose issue
+     * failed get the error; the others get their result.
+     */
+    @Test
+    void partiallyFailedUpdateBatch_shouldFailOnlyAffectedCallers() throws Exception {
+        IssueRepository partial = mock(IssueRepository.class);
+        when(partial.updateStatuses(anyMap())).thenAnswer(invocation -> {
+            Map<String, Status> updates = invocation.getArgument(0);
+            Set<String> updated = new HashSet<>(updates.keySet());
+            if (!updated.remove("AD-0")) {
+                return updated;
+            }
+            throw new GoogleSheetsIssueRepository.PartialUpdateException(updated,
+                    Map.of("AD-0", new GoogleSheetsIssueRepository.ConcurrentUpdateException("AD-0 kept moving")));
+        });
+
+        List<Object> results;
+        try (CoalescingIssueRepository coalescing = new CoalescingIssueRepository(partial, 100, Duration.ofMillis(20))) {
+            results = runConcurrently(i -> () -> {
+                try {
+                    return coalescing.updateStatus("AD-" + i, Status.CLOSED);
+                } catch (GoogleSheetsIssueRepository.ConcurrentUpdateException e) {
+                    return e;
+                }
+            });
+        }
+
+        assertInstanceOf(GoogleSheetsIssueRepository.ConcurrentUpdateException.class, results.get(0));
+        results.subList(1, results.size()).forEach(result -> assertEquals(Boolean.TRUE, result));
+    }
+
+    /**
+     * Positive test:
+     * ID existence checks and ID / fingerprint projections reach the backend's own
+     * implementations instead of the interface defaults built on full reads.
+     */
+    @Test
+    void projectedReads_shouldBeDelegated() {
+        IssueRepository projecting = mock(IssueRepository.class);
+        when(projecting.existsById("AD-1")).thenReturn(true);
+        when(projecting.findAllIds()).thenReturn(List.of("AD-1"));
+        when(projecting.findFingerprints()).thenReturn(List.of(new IssueFingerprint("AD-1", Status.OPEN, null)));
+
+        try (CoalescingIssueRepository coalescing = new CoalescingIssueRepository(projecting, 100, Duration.ofMillis(20))) {
+            assertTrue(coalescing.existsById("AD-1"));
+            assertEquals(List.of("AD-1"), coalescing.findAllIds());
+            assertEquals(1, coalescing.findFingerprints().size());
+        }
+
+        verify(projecting, never()).findById(any());
+        verify(projecting, never()).scanAll(anyInt(), any());
+    }
+
+    private List<Object> runConcurrently(IntFunction<Callable<Object>> task) throws Exception {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(callers.submit(task.apply(i)));
+        }
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private static Issue issue(String id) {
+        return Issue.builder()
+                .id(id)
+                .description("Issue " + id)
+                .status(Status.OPEN)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,545 @@
+package com.perpetuum.issue_tracker.repository;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.perpetuum.issue_tracker.infrastructure.GoogleSheetsFacade;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+
+class GoogleSheetsIssueRepositoryTest {
+
+    private static final String ARCHIVE = "Archive";
+    private static final String ARCHIVE_LOCK = "_lock_Archive";
+    private static final List<Object> HEADER =
+            Arrays.asList("ID", "Description", "Parent ID", "Status", "Created at", "Updated at");
+
+    private GoogleSheetsFacade facade;
+    private GoogleSheetsIssueRepository repository;
+
+    /**
+     * Creates a repository over a mocked facade with an archive sheet configured.
+     */
+    @BeforeEach
+    void setup() {
+        facade = mock(GoogleSheetsFacade.class);
+        repository = new GoogleSheetsIssueRepository(facade, ARCHIVE);
+    }
+
+    /**
+     * Positive test:
+     * Only CLOSED rows older than the cutoff are archived; they are appended
+     * to the archive sheet before being deleted from the main sheet.
+     */
+    @Test
+    void archiveClosedBefore_shouldMoveOldClosedRows() throws Exception {
+        List<Object> oldClosed = row("AD-1", Status.CLOSED, "2024-01-01T10:00", "2024-02-01T10:00");
+        List<Object> recentClosed = row("AD-2", Status.CLOSED, "2024-01-01T10:00", "2025-06-01T10:00");
+        List<Object> oldOpen = row("AD-3", Status.OPEN, "2024-01-01T10:00", "");
+        List<Object> oldClosedNeverUpdated = row("AD-4", Status.CLOSED, "2023-05-01T10:00", "");
+        List<List<Object>> lockRows = simulateLockSheet();
+        when(facade.readAll()).thenReturn(List.of(HEADER, oldClosed, recentClosed, oldOpen, oldClosedNeverUpdated));
+        when(facade.readRowsAt(List.of(2, 5))).thenReturn(List.of(oldClosed, oldClosedNeverUpdated));
+        when(facade.readCells(List.of("A2", "D2", "F2", "A5", "D5", "F5"))).thenReturn(Arrays.asList(
+                "AD-1", "CLOSED", "2024-02-01T10:00", "AD-4", "CLOSED", null));
+
+        int archived = repository.archiveClosedBefore(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertEquals(2, archived);
+        InOrder order = inOrder(facade);
+        order.verify(facade).ensureSheet(ARCHIVE, false);
+        order.verify(facade).appendRows(eq(ARCHIVE_LOCK), any());
+        order.verify(facade).appendRows(ARCHIVE, List.of(oldClosed, oldClosedNeverUpdated));
+        order.verify(facade).deleteRows(List.of(2, 5));
+        order.verify(facade).updateCells(ARCHIVE_LOCK, Map.of("B1", "released"));
+        assertEquals(1, lockRows.size());
+    }
+
+    /**
+     * Negative test:
+     * While another process holds the archive lease, a second run backs off before reading
+     * or deleting anything, and marks its own attempt as released.
+     */
+    @Test
+    void archiveClosedBefore_shouldNotRunWhileAnotherRunHoldsTheLease() throws Exception {
+        List<List<Object>> lockRows = simulateLockSheet();
+        lockRows.add(List.of("other-run", Instant.now().plusSeconds(300).toString(), "42@elsewhere"));
+
+        assertThrows(GoogleSheetsIssueRepository.ArchiveInProgressException.class,
+                () -> repository.archiveClosedBefore(LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        verify(facade, never()).readAll();
+        verify(facade, never()).deleteRows(any());
+        verify(facade).updateCells(ARCHIVE_LOCK, Map.of("B2", "released"));
+    }
+
+    /**
+     * Edge case:
+     * Expired and released lease rows of earlier runs do not block a new run.
+     */
+    @Test
+    void archiveClosedBefore_shouldIgnoreExpiredAndReleasedLeases() throws Exception {
+        List<List<Object>> lockRows = simulateLockSheet();
+        lockRows.add(List.of("crashed-run", Instant.now().minusSeconds(1).toString(), "41@elsewhere"));
+        lockRows.add(List.of("finished-run", "released", "42@elsewhere"));
+        when(facade.readAll()).thenReturn(List.of(HEADER));
+
+        assertEquals(0, repository.archiveClosedBefore(LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+        verify(facade).readAll();
+        verify(facade).updateCells(ARCHIVE_LOCK, Map.of("B3", "released"));
+    }
+
+    /**
+     * Edge case:
+     * Rows changed by another writer are never deleted: a row reopened after the scan is
+     * neither copied nor deleted, and a row replaced after the copy stays in the main sheet.
+     */
+    @Test
+    void archiveClosedBefore_shouldOnlyDeleteVerifiedRows() throws Exception {
+        List<Object> closed1 = row("AD-1", Status.CLOSED, "2024-01-01T10:00", "2024-02-01T10:00");
+        List<Object> closed2 = row("AD-2", Status.CLOSED, "2024-01-01T10:00", "2024-02-01T10:00");
+        List<Object> closed3 = row("AD-3", Status.CLOSED, "2024-01-01T10:00", "2024-02-01T10:00");
+        simulateLockSheet();
+        when(facade.readAll()).thenReturn(List.of(HEADER, closed1, closed2, closed3));
+        when(facade.readRowsAt(List.of(2, 3, 4))).thenReturn(List.of(
+                closed1,
+                row("AD-2", Status.OPEN, "2024-01-01T10:00", "2025-06-01T10:00"), // reopened
+                closed3));
+        when(facade.readCells(List.of("A2", "D2", "F2", "A4", "D4", "F4"))).thenReturn(Arrays.asList(
+                "AD-1", "CLOSED", "2024-02-01T10:00",
+                "AD-9", "OPEN", null)); // a delete above shifted another issue into row 4
+
+        int archived = repository.archiveClosedBefore(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertEquals(1, archived);
+        verify(facade).appendRows(ARCHIVE, List.of(closed1, closed3));
+        verify(facade).deleteRows(List.of(2));
+    }
+
+    /**
+     * Edge case:
+     * After an interrupted archive run, an issue present in both sheets (or archived twice)
+     * is scanned once, from the main sheet, so an export never contains it twice.
+     */
+    @Test
+    void scanAll_shouldSkipDuplicateArchivedCopies() throws Exception {
+        when(facade.hasSheet(ARCHIVE)).thenReturn(true);
+        when(facade.readRows(2, 11)).thenReturn(List.of(
+                row("AD-1", Status.OPEN, "2024-01-01T10:00", ""),
+                row("AD-2", Status.CLOSED, "2024-01-01T10:00", "2024-02-01T10:00")));
+        when(facade.readRows(ARCHIVE, 2, 11)).thenReturn(List.of(
+                row("AD-2", Status.CLOSED, "2024-01-01T10:00", "2024-02-01T10:00"),
+                row("AD-3", Status.CLOSED, "2023-01-01T10:00", "2023-02-01T10:00"),
+                row("AD-3", Status.CLOSED, "2023-01-01T10:00", "2023-02-01T10:00")));
+
+        List<String> scanned = new ArrayList<>();
+        repository.scanAll(10, page -> page.forEach(issue -> scanned.add(issue.getId())));
+
+        assertEquals(List.of("AD-1", "AD-2", "AD-3"), scanned);
+    }
+
+    /**
+     * Positive test:
+     * CLOSED queries include archived issues, without duplicating issues
+     * that are present in both sheets.
+     */
+    @Test
+    void findByStatus_closedShouldIncludeArchive() throws Exception {
+        when(facade.hasSheet(ARCHIVE)).thenReturn(true);
+        when(facade.readAll()).thenReturn(List.of(HEADER,
+                row("AD-1", Status.CLOSED, "2024-01-01T10:00", ""),
+                row("AD-2", Status.OPEN, "2024-01-01T10:00", "")));
+        when(facade.readAll(ARCHIVE)).thenReturn(List.of(HEADER,
+                row("AD-1", Status.CLOSED, "2024-01-01T10:00", ""),
+                row("AD-0", Status.CLOSED, "2023-01-01T10:00", "2023-02-01T10:00")));
+
+        List<Issue> closed = repository.findByStatus(Status.CLOSED);
+
+        assertEquals(List.of("AD-1", "AD-0"), closed.stream().map(Issue::getId).toList());
+    }
+
+    /**
+     * Positive test:
+     * Enabling views creates one hidden sheet per status with a FILTER formula,
+     * and findByStatus then reads only the view.
+     */
+    @Test
+    void findByStatus_shouldReadStatusViewWhenEnabled() throws Exception {
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        when(facade.hasSheet("_view_OPEN")).thenReturn(true);
+        when(facade.readAll("_view_OPEN")).thenReturn(List.of(row("AD-2", Status.OPEN, "2024-01-01T10:00", "")));
+
+        repository.enableStatusViews();
+        List<Issue> open = repository.findByStatus(Status.OPEN);
+
+        verify(facade).ensureSheet("_view_OPEN", true);
+        verify(facade).writeFormula("_view_OPEN!A1",
+                "=IFNA(FILTER('Issues'!A2:F, 'Issues'!D2:D=\"OPEN\"), \"\")");
+        verify(facade, never()).readAll();
+        assertEquals(List.of("AD-2"), open.stream().map(Issue::getId).toList());
+    }
+
+    /**
+     * Edge case:
+     * A formula that Sheets stored in its own rendering (no spaces, unquoted sheet name)
+     * is recognized as up to date and not rewritten on every startup.
+     */
+    @Test
+    void enableStatusViews_shouldNotRewriteNormalizedFormulas() throws Exception {
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        for (Status status : Status.values()) {
+            when(facade.readFormula("_view_" + status.name() + "!A1"))
+                    .thenReturn("=ifna(FILTER(Issues!A2:F,Issues!D2:D=\"" + status.name() + "\"),\"\")");
+        }
+
+        repository.enableStatusViews();
+
+        verify(facade, never()).writeFormula(any(), any());
+        assertEquals("=IFNA(FILTER(ISSUES!A2:F,ISSUES!D2:D=\"open\"),\" \")",
+                GoogleSheetsIssueRepository.normalizeFormula("=IFNA(FILTER('Issues'!A2:F, 'Issues'!D2:D=\"open\"), \" \")"));
+    }
+
+    /**
+     * Negative test:
+     * A view showing a formula error falls back to client-side filtering.
+     */
+    @Test
+    void findByStatus_shouldFallBackWhenViewIsBroken() throws Exception {
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        when(facade.hasSheet("_view_OPEN")).thenReturn(true);
+        when(facade.readAll("_view_OPEN")).thenReturn(List.of(List.of("#REF!")));
+        when(facade.readAll()).thenReturn(List.of(HEADER,
+                row("AD-1", Status.CLOSED, "2024-01-01T10:00", ""),
+                row("AD-2", Status.OPEN, "2024-01-01T10:00", "")));
+
+        repository.enableStatusViews();
+        List<Issue> open = repository.findByStatus(Status.OPEN);
+
+        assertEquals(List.of("AD-2"), open.stream().map(Issue::getId).toList());
+    }
+
+    /**
+     * Positive test:
+     * Without statistics or views, a selective compound query reads only the filtered
+     * columns and then fetches just the matching rows.
+     */
+    @Test
+    void findByQuery_shouldPrefilterProjectedColumns() throws Exception {
+        IssueQuery query = IssueQuery.builder().status(Status.OPEN).parentId("AD-1").build();
+        when(facade.readColumns(2, "A", "C", "D")).thenReturn(List.of(
+                List.of("AD-1", "AD-2", "AD-3"),
+                List.of("", "AD-1", "AD-1"),
+                List.of("OPEN", "OPEN", "CLOSED")));
+        List<Object> child = row("AD-2", Status.OPEN, "2024-01-01T10:00", "");
+        child.set(2, "AD-1");
+        when(facade.readRowsAt(List.of(3))).thenReturn(List.of(child));
+
+        assertEquals(QueryPlan.AccessPath.PROJECTED_PREFILTER, repository.explain(query).getAccessPath());
+        List<Issue> issues = repository.findByQuery(query);
+
+        assertEquals(List.of("AD-2"), issues.stream().map(Issue::getId).toList());
+        verify(facade, never()).readAll();
+        verify(facade, never()).readRows(anyInt(), anyInt());
+    }
+
+    /**
+     * Edge case:
+     * Before any read has counted the rows (a one-shot CLI run), the planner estimates
+     * from the main sheet's grid size instead of a fixed default.
+     */
+    @Test
+    void explain_shouldSeedRowCountFromGridSize() {
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        when(facade.getGridRowCount("Issues")).thenReturn(50_001);
+
+        QueryPlan plan = repository.explain(IssueQuery.builder().status(Status.OPEN).build());
+
+        assertEquals(50_000, plan.getEstimatedRows());
+    }
+
+    /**
+     * Positive test:
+     * With status views enabled, a status query uses them as an index and filters
+     * the remaining predicates on the view rows.
+     */
+    @Test
+    void findByQuery_shouldUseStatusViewsAsIndex() throws Exception {
+        IssueQuery query = IssueQuery.builder()
+                .status(Status.OPEN)
+                .createdAfter(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        when(facade.hasSheet("_view_OPEN")).thenReturn(true);
+        when(facade.readAll("_view_OPEN")).thenReturn(List.of(
+                row("AD-2", Status.OPEN, "2024-01-01T10:00", ""),
+                row("AD-5", Status.OPEN, "2025-03-01T10:00", "")));
+
+        repository.enableStatusViews();
+        List<Issue> issues = repository.findByQuery(query);
+
+        assertEquals(QueryPlan.AccessPath.INDEX, repository.explain(query).getAccessPath());
+        assertEquals(List.of("AD-5"), issues.stream().map(Issue::getId).toList());
+        verify(facade, never()).readAll();
+    }
+
+    /**
+     * Positive test:
+     * Streaming skips the header and maps only the rows that match the query.
+     */
+    @Test
+    void streamMatching_shouldMapOnlyMatchingRows() throws Exception {
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        when(facade.streamAll(eq("Issues"), any())).thenAnswer(invocation -> {
+            Consumer<List<Object>> consumer = invocation.getArgument(1);
+            List<List<Object>> rows = List.of(HEADER,
+                    row("AD-1", Status.OPEN, "2024-01-01T10:00", ""),
+                    row("AD-2", Status.CLOSED, "2024-01-01T10:00", ""),
+                    row("AD-3", Status.OPEN, "2025-01-01T10:00", ""));
+            rows.forEach(consumer);
+            return (long) rows.size();
+        });
+        List<Issue> issues = new ArrayList<>();
+
+        long matches = repository.streamMatching(IssueQuery.builder().status(Status.OPEN).build(), issues::add);
+
+        assertEquals(2, matches);
+        assertEquals(List.of("AD-1", "AD-3"), issues.stream().map(Issue::getId).toList());
+    }
+
+    /**
+     * Positive test:
+     * An ID lookup reads only the ID column, and the archive's only when the main sheet misses.
+     */
+    @Test
+    void existsById_shouldReadIdColumnsOnlyUntilFound() throws Exception {
+        when(facade.hasSheet(ARCHIVE)).thenReturn(true);
+        when(facade.readColumns(2, "A")).thenReturn(List.of(List.of("AD-1", "", "AD-2")));
+        when(facade.readColumns(ARCHIVE, 2, "A")).thenReturn(List.of(List.of("AD-0")));
+
+        assertTrue(repository.existsById("AD-2"));
+        verify(facade, never()).readColumns(eq(ARCHIVE), anyInt(), any(String[].class));
+
+        assertTrue(repository.existsById("AD-0"));
+        assertFalse(repository.existsById("AD-404"));
+        verify(facade, never()).readAll();
+    }
+
+    /**
+     * Negative test:
+     * A hand-edited, unknown status marks that row as unparseable instead of failing
+     * the whole read, so a watch keeps polling.
+     */
+    @Test
+    void findFingerprints_shouldMarkRowsWithUnknownStatus() throws Exception {
+        when(facade.readColumns(2, "A", "D", "F")).thenReturn(List.of(
+                List.of("AD-1", "AD-2", "AD-3"),
+                List.of("OPEN", "DONE?", "closed"),
+                List.of("", "", "2025-01-01T10:00")));
+
+        List<IssueFingerprint> fingerprints = repository.findFingerprints();
+
+        assertEquals(List.of(
+                new IssueFingerprint("AD-1", Status.OPEN, null),
+                IssueFingerprint.unparseable("AD-2"),
+                new IssueFingerprint("AD-3", Status.CLOSED, "2025-01-01T10:00")), fingerprints);
+    }
+
+    /**
+     * Negative test:
+     * A failed stream of the main sheet names the sheet in the error.
+     */
+    @Test
+    void streamMatching_shouldNameMainSheetOnFailure() throws Exception {
+        when(facade.getDefaultSheetName()).thenReturn("Issues");
+        when(facade.streamAll(eq("Issues"), any())).thenThrow(new IOException("socket closed"));
+
+        GoogleSheetsIssueRepository.IssueRepositoryException e = assertThrows(
+                GoogleSheetsIssueRepository.IssueRepositoryException.class,
+                () -> repository.streamMatching(IssueQuery.builder().status(Status.OPEN).build(), issue -> { }));
+
+        assertTrue(e.getMessage().contains("[Issues]"), e.getMessage());
+    }
+
+    /**
+     * Positive test:
+     * A status update verifies the target row and writes only its Status and Updated at cells.
+     */
+    @Test
+    void updateStatus_shouldWriteOnlyStatusAndUpdatedAtCells() throws Exception {
+        when(facade.readColumnsFresh(2, "A", "D", "F")).thenReturn(List.of(
+                List.of("AD-1", "AD-2"),
+                List.of("OPEN", "OPEN"),
+                List.of("", "2024-05-01T10:00")));
+        when(facade.readCells(List.of("A3", "F3"))).thenReturn(Arrays.asList("AD-2", "2024-05-01T10:00"));
+        when(facade.readCells(List.of("A3"))).thenReturn(List.of("AD-2"));
+
+        assertTrue(repository.updateStatus("AD-2", Status.CLOSED));
+
+        verify(facade).updateCells(argThat((Map<String, Object> cells) ->
+                cells.keySet().equals(Set.of("D3", "F3")) && "CLOSED".equals(cells.get("D3"))));
+        verify(facade, never()).updateRow(anyInt(), any());
+        verify(facade, never()).updateRows(anyMap());
+    }
+
+    /**
+     * Edge case:
+     * When the located row changed before the write (here: another row moved into it),
+     * the issue is re-located and written at its new row.
+     */
+    @Test
+    void updateStatus_shouldRelocateOnConflict() throws Exception {
+        when(facade.readColumnsFresh(2, "A", "D", "F"))
+                .thenReturn(List.of(List.of("AD-1", "AD-2"), List.of(), List.of()))
+                .thenReturn(List.of(List.of("AD-2"), List.of(), List.of()));
+        when(facade.readCells(List.of("A3", "F3"))).thenReturn(Arrays.asList("AD-9", null));
+        when(facade.readCells(List.of("A2", "F2"))).thenReturn(Arrays.asList("AD-2", null));
+        when(facade.readCells(List.of("A2"))).thenReturn(List.of("AD-2"));
+
+        assertTrue(repository.updateStatus("AD-2", Status.IN_PROGRESS));
+
+        verify(facade).updateCells(argThat((Map<String, Object> cells) ->
+                cells.keySet().equals(Set.of("D2", "F2"))));
+    }
+
+    /**
+     * Edge case:
+     * When the rows move during the write (a delete above shifts another issue into the
+     * row), that issue gets its previous Status and Updated at back and the update is
+     * retried at the new row.
+     */
+    @Test
+    void updateStatus_shouldRestoreIssueHitByMisdirectedWrite() throws Exception {
+        when(facade.readColumnsFresh(2, "A", "D", "F"))
+                .thenReturn(List.of(
+                        List.of("AD-1", "AD-2", "AD-9"),
+                        List.of("OPEN", "OPEN", "IN_PROGRESS"),
+                        List.of("", "t2", "t9")))
+                .thenReturn(List.of(
+                        List.of("AD-2", "AD-9"),
+                        List.of("CLOSED", "IN_PROGRESS"),
+                        List.of("t2", "t9")));
+        when(facade.readCells(List.of("A3", "F3"))).thenReturn(Arrays.asList("AD-2", "t2"));
+        when(facade.readCells(List.of("A3"))).thenReturn(List.of("AD-9")); // AD-1 was deleted meanwhile
+        when(facade.readCells(List.of("A2", "F2"))).thenReturn(Arrays.asList("AD-2", "t2"));
+        when(facade.readCells(List.of("A2"))).thenReturn(List.of("AD-2"));
+
+        assertTrue(repository.updateStatus("AD-2", Status.CLOSED));
+
+        InOrder order = inOrder(facade);
+        order.verify(facade).updateCells(argThat((Map<String, Object> cells) ->
+                cells.keySet().equals(Set.of("D3", "F3")) && "CLOSED".equals(cells.get("D3"))));
+        order.verify(facade).updateCells(Map.of("D3", "IN_PROGRESS", "F3", "t9"));
+        order.verify(facade).updateCells(argThat((Map<String, Object> cells) ->
+                cells.keySet().equals(Set.of("D2", "F2")) && "CLOSED".equals(cells.get("D2"))));
+    }
+
+    /**
+     * Negative test:
+     * A misdirected write onto an issue the lookup never saw cannot be undone and is
+     * reported as an error instead of being retried silently.
+     */
+    @Test
+    void updateStatus_shouldFailWhenMisdirectedWriteCannotBeUndone() throws Exception {
+        when(facade.readColumnsFresh(2, "A", "D", "F")).thenReturn(List.of(
+                List.of("AD-1", "AD-2"), List.of("OPEN", "OPEN"), List.of("", "t2")));
+        when(facade.readCells(List.of("A3", "F3"))).thenReturn(Arrays.asList("AD-2", "t2"));
+        when(facade.readCells(List.of("A3"))).thenReturn(List.of("AD-NEW"));
+
+        assertThrows(GoogleSheetsIssueRepository.MisdirectedWriteException.class,
+                () -> repository.updateStatus("AD-2", Status.CLOSED));
+    }
+
+    /**
+     * Edge case:
+     * A misdirected write that cannot be undone fails only its own issue: the other issues
+     * of the batch are written and reported as updated.
+     */
+    @Test
+    void updateStatuses_shouldReportFailuresPerIssue() throws Exception {
+        when(facade.readColumnsFresh(2, "A", "D", "F")).thenReturn(List.of(
+                List.of("AD-1", "AD-2"), List.of("OPEN", "OPEN"), List.of("t1", "t2")));
+        when(facade.readCells(List.of("A2", "F2", "A3", "F3"))).thenReturn(Arrays.asList("AD-1", "t1", "AD-2", "t2"));
+        when(facade.readCells(List.of("A2", "A3"))).thenReturn(List.of("AD-1", "AD-NEW"));
+
+        GoogleSheetsIssueRepository.PartialUpdateException e = assertThrows(
+                GoogleSheetsIssueRepository.PartialUpdateException.class,
+                () -> repository.updateStatuses(Map.of("AD-1", Status.CLOSED, "AD-2", Status.CLOSED)));
+
+        assertEquals(Set.of("AD-1"), e.getUpdated());
+        assertEquals(Set.of("AD-2"), e.getFailures().keySet());
+        assertInstanceOf(GoogleSheetsIssueRepository.MisdirectedWriteException.class, e.getFailures().get("AD-2"));
+    }
+
+    /**
+     * Positive test:
+     * A lookup by ID falls back to the archive when the main sheet does not have the issue.
+     */
+    @Test
+    void findById_shouldFallBackToArchive() throws Exception {
+        when(facade.hasSheet(ARCHIVE)).thenReturn(true);
+        when(facade.readAll()).thenReturn(List.of(HEADER, row("AD-1", Status.OPEN, "2024-01-01T10:00", "")));
+        when(facade.readAll(ARCHIVE)).thenReturn(List.of(HEADER, row("AD-0", Status.CLOSED, "2023-01-01T10:00", "")));
+
+        assertEquals("AD-1", repository.findById("AD-1").orElseThrow().getId());
+        assertEquals(Status.CLOSED, repository.findById("AD-0").orElseThrow().getStatus());
+        assertTrue(repository.findById("AD-404").isEmpty());
+        verify(facade, never()).readRows(anyInt(), anyInt());
+    }
+
+    /**
+     * Negative test:
+     * Unknown issues are reported as not found without writing anything.
+     */
+    @Test
+    void updateStatus_shouldReturnFalseForUnknownIssue() throws Exception {
+        when(facade.readColumnsFresh(2, "A", "D", "F")).thenReturn(List.of(List.of("AD-1"), List.of(), List.of()));
+
+        assertFalse(repository.updateStatus("AD-404", Status.CLOSED));
+        verify(facade, never()).updateCells(anyMap());
+    }
+
+    /**
+     * Backs the archive lock sheet by a list: appends add to it and reads return it.
+     */
+    private List<List<Object>> simulateLockSheet() throws IOException {
+        List<List<Object>> lockRows = new ArrayList<>();
+        doAnswer(invocation -> lockRows.addAll(invocation.getArgument(1)))
+                .when(facade).appendRows(eq(ARCHIVE_LOCK), any());
+        when(facade.readAll(ARCHIVE_LOCK)).thenAnswer(invocation -> new ArrayList<>(lockRows));
+        return lockRows;
+    }
+
+    private static List<Object> row(String id, Status status, String createdAt, String updatedAt) {
+        return new ArrayList<>(Arrays.asList(id, "Issue " + id, "", status.name(), createdAt, updatedAt));
+    }
+}
@@ -11,11 +11,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.perpetuum.issue_tracker.index.IssueIdIndex;
 import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueQuery;
 import com.perpetuum.issue_tracker.model.Status;
 import com.perpetuum.issue_tracker.repository.IssueRepository;
 
@@ -144,4 +149,48 @@ class IssueServiceTest {
         );
         assertTrue(ex.getMessage().contains("Invalid status: INVALID"));
     }
+
+    /**
+     * Negative test:
+     * An empty created range is rejected before the repository is queried.
+     */
+    @Test
+    void listByQuery_shouldThrowIfRangeIsEmpty() {
+        LocalDateTime now = LocalDateTime.now();
+        IssueQuery query = IssueQuery.builder().createdAfter(now).createdBefore(now.minusDays(1)).build();
+
+        assertThrows(IllegalArgumentException.class, () -> service.listByQuery(query));
+        verify(repository, never()).findByQuery(query);
+    }
+
+    /**
+     * Positive test:
+     * With an ID index, a known parent and a fresh generated ID need no repository read.
+     */
+    @Test
+    void createIssue_withIndexShouldNotReadForKnownParent() {
+        IssueIdIndex index = mock(IssueIdIndex.class);
+        when(index.mightContain("PARENT-1")).thenReturn(true);
+        IssueService indexed = new IssueService(repository, index);
+
+        Issue created = indexed.createIssue("Child", "PARENT-1");
+
+        verify(repository, never()).existsById(anyString());
+        verify(index).add(created.getId());
+    }
+
+    /**
+     * Negative test:
+     * A parent unknown to the index is confirmed with a read and rejected if missing.
+     */
+    @Test
+    void createIssue_withIndexShouldRejectMissingParent() {
+        IssueIdIndex index = mock(IssueIdIndex.class);
+        when(repository.existsById("GHOST-1")).thenReturn(false);
+        IssueService indexed = new IssueService(repository, index);
+
+        assertThrows(IllegalArgumentException.class, () -> indexed.createIssue("Child", "GHOST-1"));
+        verify(repository).existsById("GHOST-1");
+        verify(repository, never()).create(any());
+    }
 }
@@ -0,0 +1,118 @@
+package com.perpetuum.issue_tracker.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.perpetuum.issue_tracker.model.IssueChange;
+import com.perpetuum.issue_tracker.model.IssueFingerprint;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.IssueRepository;
+
+class IssueWatcherTest {
+
+    private static final Duration MIN = Duration.ofSeconds(1);
+    private static final Duration MAX = Duration.ofSeconds(8);
+
+    private IssueRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(IssueRepository.class);
+    }
+
+    /**
+     * Positive test:
+     * The first poll is only a baseline; later polls report new issues
+     * and status changes, but not unchanged issues.
+     */
+    @Test
+    void poll_shouldReportCreatedAndStatusChangedIssues() {
+        when(repository.findFingerprints()).thenReturn(
+                List.of(new IssueFingerprint("AD-1", Status.OPEN, null)),
+                List.of(new IssueFingerprint("AD-1", Status.CLOSED, "2025-01-02T10:00"),
+                        new IssueFingerprint("AD-2", Status.OPEN, null)));
+        IssueWatcher watcher = new IssueWatcher(repository, Set.of(), MIN, MAX);
+
+        assertTrue(watcher.poll().isEmpty());
+        List<IssueChange> changes = watcher.poll();
+
+        assertEquals(List.of(
+                new IssueChange(IssueChange.Type.STATUS_CHANGED, "AD-1", Status.CLOSED, Status.OPEN, "2025-01-02T10:00"),
+                new IssueChange(IssueChange.Type.CREATED, "AD-2", Status.OPEN, null, null)), changes);
+    }
+
+    /**
+     * Positive test:
+     * Only changes into a filtered status are reported.
+     */
+    @Test
+    void poll_shouldApplyStatusFilter() {
+        when(repository.findFingerprints()).thenReturn(
+                List.of(new IssueFingerprint("AD-1", Status.OPEN, null)),
+                List.of(new IssueFingerprint("AD-1", Status.IN_PROGRESS, "t1"),
+                        new IssueFingerprint("AD-2", Status.OPEN, null)));
+        IssueWatcher watcher = new IssueWatcher(repository, Set.of(Status.IN_PROGRESS), MIN, MAX);
+
+        watcher.poll();
+        List<IssueChange> changes = watcher.poll();
+
+        assertEquals(1, changes.size());
+        assertEquals("AD-1", changes.get(0).getId());
+    }
+
+    /**
+     * Edge case:
+     * An issue whose status cell is broken for a while keeps its last fingerprint, so
+     * fixing the cell is a status change rather than a creation; one that is already
+     * broken in the baseline becomes a status change from null.
+     */
+    @Test
+    void poll_shouldCarryFingerprintAcrossUnparseableStatus() {
+        when(repository.findFingerprints()).thenReturn(
+                List.of(new IssueFingerprint("AD-1", Status.OPEN, null), IssueFingerprint.unparseable("AD-2")),
+                List.of(IssueFingerprint.unparseable("AD-1"), IssueFingerprint.unparseable("AD-2")),
+                List.of(new IssueFingerprint("AD-1", Status.CLOSED, "t1"), new IssueFingerprint("AD-2", Status.OPEN, "t1")));
+        IssueWatcher watcher = new IssueWatcher(repository, Set.of(), MIN, MAX);
+
+        watcher.poll();
+        assertTrue(watcher.poll().isEmpty());
+        List<IssueChange> changes = watcher.poll();
+
+        assertEquals(List.of(
+                new IssueChange(IssueChange.Type.STATUS_CHANGED, "AD-1", Status.CLOSED, Status.OPEN, "t1"),
+                new IssueChange(IssueChange.Type.STATUS_CHANGED, "AD-2", Status.OPEN, null, "t1")), changes);
+    }
+
+    /**
+     * Edge case:
+     * The interval doubles while idle, is capped at the maximum
+     * and drops back to the minimum after a change.
+     */
+    @Test
+    void poll_shouldBackOffWhileIdleAndResetOnChange() {
+        List<IssueFingerprint> idle = List.of(new IssueFingerprint("AD-1", Status.OPEN, null));
+        when(repository.findFingerprints()).thenReturn(idle, idle, idle, idle, idle,
+                List.of(new IssueFingerprint("AD-1", Status.CLOSED, "t1")));
+        IssueWatcher watcher = new IssueWatcher(repository, Set.of(), MIN, MAX);
+
+        watcher.poll();
+        assertEquals(Duration.ofSeconds(2), watcher.currentInterval());
+        watcher.poll();
+        watcher.poll();
+        assertEquals(MAX, watcher.currentInterval());
+        watcher.poll();
+        watcher.poll();
+        assertEquals(MAX, watcher.currentInterval());
+
+        watcher.poll();
+        assertEquals(MIN, watcher.currentInterval());
+    }
+}
@@ -0,0 +1,68 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.InMemoryIssueRepository;
+
+/**
+ * Snapshot load benchmark (run with {@code mvn test -Pload-test}).
+ *
+ * Seeds a local in-memory backend from a 500k-issue snapshot file, the way test
+ * environments are seeded, and checks that loading stays well under a second per
+ * 100k issues. The time includes the full verification pass that precedes the restore.
+ */
+class SnapshotLoadTest {
+
+    private static final int ISSUES = 500_000;
+    private static final int ROUNDS = 3;
+    /** Budget per 100k issues: half of the one second the seeding use case allows. */
+    private static final long MAX_MILLIS_PER_100K = 500;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Best of {@value #ROUNDS} restores of the same file into a fresh repository.
+     */
+    @Test
+    void restore_shouldSeedLocalBackendWellUnderASecondPer100k() throws Exception {
+        InMemoryIssueRepository source = new InMemoryIssueRepository();
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_789);
+        for (int i = 0; i < ISSUES; i++) {
+            source.create(Issue.builder()
+                    .id("AD-" + i)
+                    .description("Benchmark issue number " + i + " with a description of typical length")
+                    .parentId(i % 7 == 0 ? "AD-1" : null)
+                    .status(Status.values()[i % Status.values().length])
+                    .createdAt(base.plusSeconds(i))
+                    .updatedAt(i % 2 == 0 ? null : base.plusDays(1).plusSeconds(i))
+                    .build());
+        }
+        Path file = dir.resolve("snapshot.bin");
+        assertEquals(ISSUES, new SnapshotService(source).export(file));
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            InMemoryIssueRepository target = new InMemoryIssueRepository();
+            long start = System.nanoTime();
+            long restored = new SnapshotService(target).restore(file);
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(ISSUES, restored);
+        }
+
+        long millisPer100k = best * 100_000 / ISSUES / 1_000_000;
+        System.out.printf("Snapshot restore of %,d issues (%d KB): %d ms, %d ms per 100k, %,.0f issues/s%n",
+                ISSUES, Files.size(file) >> 10, best / 1_000_000, millisPer100k, ISSUES / (best / 1e9));
+        assertTrue(millisPer100k <= MAX_MILLIS_PER_100K,
+                "Restore took " + millisPer100k + " ms per 100k issues, budget " + MAX_MILLIS_PER_100K);
+    }
+}
@@ -0,0 +1,174 @@
+package com.perpetuum.issue_tracker.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.InMemoryIssueRepository;
+
+class SnapshotServiceTest {
+
+    private InMemoryIssueRepository source;
+    private List<Issue> expected;
+
+    /**
+     * Seeds an in-memory repository with issues covering every column shape:
+     * null parent, null updatedAt, each status and non-ASCII descriptions.
+     */
+    @BeforeEach
+    void setup() {
+        source = new InMemoryIssueRepository();
+        expected = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789);
+        for (int i = 0; i < 12; i++) {
+            Issue issue = Issue.builder()
+                    .id("AD-" + i)
+                    .description("Issue č." + i)
+                    .parentId(i % 3 == 0 ? null : "AD-0")
+                    .status(Status.values()[i % Status.values().length])
+                    .createdAt(base.plusMinutes(i))
+                    .updatedAt(i % 2 == 0 ? null : base.minusDays(i))
+                    .build();
+            expected.add(issue);
+            source.create(issue);
+        }
+    }
+
+    /**
+     * Positive test:
+     * Exporting in several blocks and restoring into an empty repository
+     * reproduces every issue exactly, in order.
+     */
+    @Test
+    void exportThenRestore_shouldRoundTripAllIssues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = new SnapshotService(source, 5).export(out);
+
+        InMemoryIssueRepository target = new InMemoryIssueRepository();
+        long restored = new SnapshotService(target, 5).restore(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(12, exported);
+        assertEquals(12, restored);
+
+        List<Issue> actual = new ArrayList<>();
+        target.scanAll(100, actual::addAll);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Negative test:
+     * A flipped byte must be detected instead of restoring corrupted data.
+     */
+    @Test
+    void restore_shouldRejectCorruptedSnapshot() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SnapshotService(source).export(out);
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length - 20] ^= 0x55;
+
+        SnapshotService restoreService = new SnapshotService(new InMemoryIssueRepository());
+        assertThrows(SnapshotFormatException.class,
+                () -> restoreService.restore(new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Negative test:
+     * Corrupted row counts and column lengths are rejected as format errors before
+     * anything is allocated for them.
+     */
+    @Test
+    void verify_shouldRejectOutOfRangeLengths(@TempDir Path dir) throws Exception {
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        new SnapshotService(new InMemoryIssueRepository()).export(empty);
+        int headerLength = empty.size() - (1 + 8 + 4); // end marker, row count, CRC
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SnapshotService(source, 5).export(out);
+        byte[] bytes = out.toByteArray();
+        byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}; // 2^35 - 1
+
+        SnapshotService service = new SnapshotService(new InMemoryIssueRepository());
+        Path rows = dir.resolve("rows.bin");
+        Files.write(rows, splice(bytes, headerLength, 1, huge));
+        assertThrows(SnapshotFormatException.class, () -> service.verify(rows));
+
+        Path column = dir.resolve("column.bin");
+        Files.write(column, splice(bytes, headerLength + 1, 1, huge)); // raw length of the ID column
+        assertThrows(SnapshotFormatException.class, () -> service.verify(column));
+
+        Path negative = dir.resolve("negative.bin");
+        byte[] minusOne = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+        Files.write(negative, splice(bytes, headerLength, 1, minusOne));
+        assertThrows(SnapshotFormatException.class, () -> service.verify(negative));
+    }
+
+    /**
+     * Negative test:
+     * A repository failing after the first page leaves a snapshot without a trailer,
+     * which restore rejects instead of restoring the first page only.
+     */
+    @Test
+    void export_shouldNotFinishSnapshotWhenScanFails() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotService failing = new SnapshotService(failingAfterFirstPage(), 5);
+        assertThrows(IllegalStateException.class, () -> failing.export(out));
+
+        SnapshotService restoreService = new SnapshotService(new InMemoryIssueRepository());
+        assertThrows(SnapshotFormatException.class,
+                () -> restoreService.restore(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    /**
+     * Negative test:
+     * A failed export to a file keeps the previous snapshot and leaves no temporary file behind.
+     */
+    @Test
+    void exportToFile_shouldKeepPreviousSnapshotWhenScanFails(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("snapshot.bin");
+        new SnapshotService(source).export(file);
+        byte[] previous = Files.readAllBytes(file);
+
+        assertThrows(IllegalStateException.class, () -> new SnapshotService(failingAfterFirstPage(), 5).export(file));
+
+        assertArrayEquals(previous, Files.readAllBytes(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+        assertEquals(12, new SnapshotService(new InMemoryIssueRepository()).verify(file));
+    }
+
+    /** Replace {@code length} bytes at {@code offset} with {@code replacement}. */
+    private static byte[] splice(byte[] bytes, int offset, int length, byte[] replacement) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes, 0, offset);
+        out.write(replacement, 0, replacement.length);
+        out.write(bytes, offset + length, bytes.length - offset - length);
+        return out.toByteArray();
+    }
+
+    private InMemoryIssueRepository failingAfterFirstPage() {
+        return new InMemoryIssueRepository() {
+            @Override
+            public void scanAll(int pageSize, Consumer<List<Issue>> pageConsumer) {
+                List<Issue> page = new ArrayList<>();
+                source.scanAll(pageSize, page::addAll);
+                pageConsumer.accept(page.subList(0, pageSize));
+                throw new IllegalStateException("Sheets read failed");
+            }
+        };
+    }
+}
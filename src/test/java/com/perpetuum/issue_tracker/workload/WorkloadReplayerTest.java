@@ -0,0 +1,180 @@
+package com.perpetuum.issue_tracker.workload;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.perpetuum.issue_tracker.index.IssueIdIndex;
+import com.perpetuum.issue_tracker.model.Issue;
+import com.perpetuum.issue_tracker.model.IssueQuery;
+import com.perpetuum.issue_tracker.model.Status;
+import com.perpetuum.issue_tracker.repository.InMemoryIssueRepository;
+import com.perpetuum.issue_tracker.service.IssueService;
+
+class WorkloadReplayerTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Positive test:
+     * Calls made through the recording service (including a rejected one) are read
+     * back in order with their arguments, created IDs and failure flags.
+     */
+    @Test
+    void recordingService_shouldTraceEveryCall() throws Exception {
+        Path file = dir.resolve("trace.bin");
+        try (TraceWriter trace = new TraceWriter(file)) {
+            RecordingIssueService service = new RecordingIssueService(new InMemoryIssueRepository(), null, trace);
+            Issue parent = service.createIssue("Parent", null);
+            service.updateStatus(parent.getId(), "CLOSED");
+            service.listByQuery(IssueQuery.builder()
+                    .status(Status.CLOSED)
+                    .parentId(parent.getId())
+                    .createdAfter(LocalDateTime.of(2025, 6, 1, 0, 0))
+                    .build());
+            assertThrows(IllegalArgumentException.class, () -> service.createIssue(" ", null));
+        }
+
+        List<TraceEvent> events = TraceReader.readAll(file);
+
+        assertEquals(4, events.size());
+        TraceEvent create = events.get(0);
+        assertEquals(TraceEvent.Operation.CREATE, create.getOperation());
+        assertEquals("Parent", create.getArgs().get(0));
+        assertNull(create.getArgs().get(1));
+        assertTrue(create.getArgs().get(2).startsWith("AD-"));
+        assertFalse(create.isFailed());
+        assertEquals(List.of(create.getArgs().get(2), "CLOSED"), events.get(1).getArgs());
+        IssueQuery query = TraceFormat.decodeQuery(events.get(2).getArgs());
+        assertEquals(create.getArgs().get(2), query.getParentId());
+        assertEquals(LocalDateTime.of(2025, 6, 1, 0, 0), query.getCreatedAfter());
+        assertTrue(events.get(3).isFailed());
+        assertTrue(events.get(0).getTimestampMicros() <= events.get(3).getTimestampMicros());
+    }
+
+    /**
+     * Edge case:
+     * A second writer appends to an existing trace without a second header, and a
+     * record cut short at the end of the file is dropped.
+     */
+    @Test
+    void traceReader_shouldAppendAcrossWritersAndIgnoreTruncatedTail() throws Exception {
+        Path file = dir.resolve("trace.bin");
+        for (int i = 0; i < 2; i++) {
+            try (TraceWriter trace = new TraceWriter(file)) {
+                trace.write(new TraceEvent(1_000L + i, TraceEvent.Operation.GET, List.of("AD-" + i), 5, false));
+            }
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        List<TraceEvent> events = TraceReader.readAll(file);
+
+        assertEquals(1, events.size());
+        assertEquals(List.of("AD-0"), events.get(0).getArgs());
+    }
+
+    /**
+     * Positive test:
+     * Replaying at max speed with several threads maps recorded IDs to the replayed
+     * issues, so updates and parent links land on the new backend.
+     */
+    @Test
+    void replay_shouldMapRecordedIdsOntoReplayedIssues() throws Exception {
+        Path file = dir.resolve("trace.bin");
+        try (TraceWriter trace = new TraceWriter(file)) {
+            RecordingIssueService service = new RecordingIssueService(new InMemoryIssueRepository(), null, trace);
+            Issue parent = service.createIssue("Parent", null);
+            for (int i = 0; i < 20; i++) {
+                Issue child = service.createIssue("Child " + i, parent.getId());
+                service.updateStatus(child.getId(), "IN_PROGRESS");
+            }
+            service.listByStatus("IN_PROGRESS");
+        }
+        List<TraceEvent> events = TraceReader.readAll(file);
+
+        InMemoryIssueRepository target = new InMemoryIssueRepository();
+        // One thread keeps the recorded order, so every update finds its issue
+        WorkloadReplayer.ReplayReport report =
+                new WorkloadReplayer(new IssueService(target), WorkloadReplayer.MAX_SPEED, 1).replay(events);
+
+        assertEquals(42, report.getOperations());
+        assertEquals(0, report.getErrors());
+        assertEquals(0, report.getNotFound());
+        List<Issue> replayed = target.findByStatus(Status.IN_PROGRESS);
+        assertEquals(20, replayed.size());
+        String parentId = target.findByStatus(Status.OPEN).get(0).getId();
+        assertTrue(replayed.stream().allMatch(issue -> parentId.equals(issue.getParentId())));
+        assertTrue(report.format().contains("UPDATE_STATUS"));
+    }
+
+    /**
+     * Edge case:
+     * With many threads and a slow backend, updates, gets and parent-linked calls wait
+     * for the create they depend on instead of missing it; a genuinely unknown ID is
+     * counted as not found.
+     */
+    @Test
+    void replay_shouldWaitForCreatesWhenConcurrent() throws Exception {
+        Path file = dir.resolve("trace.bin");
+        try (TraceWriter trace = new TraceWriter(file)) {
+            RecordingIssueService service = new RecordingIssueService(new InMemoryIssueRepository(), null, trace);
+            Issue parent = service.createIssue("Parent", null);
+            for (int i = 0; i < 30; i++) {
+                Issue child = service.createIssue("Child " + i, parent.getId());
+                service.updateStatus(child.getId(), "IN_PROGRESS");
+                service.getIssue(child.getId());
+            }
+            service.listByQuery(IssueQuery.builder().parentId(parent.getId()).build());
+            service.getIssue("AD-MISSING");
+        }
+        List<TraceEvent> events = TraceReader.readAll(file);
+
+        InMemoryIssueRepository target = new InMemoryIssueRepository(Duration.ofMillis(2));
+        IssueService replayService = new IssueService(target, new IssueIdIndex(target, null, 0.01));
+        WorkloadReplayer.ReplayReport report =
+                new WorkloadReplayer(replayService, WorkloadReplayer.MAX_SPEED, 8).replay(events);
+
+        assertEquals(93, report.getOperations());
+        assertEquals(0, report.getErrors());
+        assertEquals(1, report.getNotFound());
+        List<Issue> replayed = target.findByStatus(Status.IN_PROGRESS);
+        assertEquals(30, replayed.size());
+        String parentId = target.findByStatus(Status.OPEN).get(0).getId();
+        assertTrue(replayed.stream().allMatch(issue -> parentId.equals(issue.getParentId())));
+    }
+
+    /**
+     * Positive test:
+     * Time scaling compresses the recorded schedule: 200 ms of recorded gaps take
+     * about 20 ms at 10x, and the report counts a recorded failure again.
+     */
+    @Test
+    void replay_shouldScaleRecordedTiming() throws Exception {
+        List<TraceEvent> events = List.of(
+                new TraceEvent(0, TraceEvent.Operation.CREATE, Arrays.asList("First", null, "AD-1"), 10, false),
+                new TraceEvent(100_000, TraceEvent.Operation.GET, List.of("AD-1"), 10, false),
+                new TraceEvent(200_000, TraceEvent.Operation.UPDATE_STATUS, List.of("AD-1", "BOGUS"), 10, true));
+
+        WorkloadReplayer.ReplayReport report =
+                new WorkloadReplayer(new IssueService(new InMemoryIssueRepository()), 10, 2).replay(events);
+
+        assertEquals(3, report.getOperations());
+        assertEquals(1, report.getErrors());
+        assertEquals(1, report.getRecordedFailures());
+        assertTrue(report.getElapsed().toMillis() >= 20, "Schedule should be kept: " + report.getElapsed());
+        assertTrue(report.getElapsed().toMillis() < 200, "Schedule should be compressed: " + report.getElapsed());
+    }
+}